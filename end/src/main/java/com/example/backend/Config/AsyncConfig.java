@@ -0,0 +1,48 @@
+package com.example.backend.Config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for CPU- and memory-heavy image work. When the queue is
+     * full the task is dropped: the original upload is still served.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageTaskExecutor(@Value("${attachment.variants.threads:2}") int threads,
+                                                    @Value("${attachment.variants.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Image task queue is full, skipping task"));
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Pool for writing the parts of a batch upload in parallel. When it is
+     * saturated the request thread does the work itself instead of failing.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadTaskExecutor(@Value("${attachment.upload.threads:4}") int threads,
+                                                     @Value("${attachment.upload.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.backend.Config;
+
+import com.example.backend.Controller.ContentVersioned;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.CRC32C;
+
+/**
+ * Conditional GETs for {@link ContentVersioned} endpoints, answered before
+ * the controller runs. The weak ETag combines the aggregates' versions with
+ * what else the body depends on: path, query string, Accept-Language and the
+ * date (upcoming/past tour lists move at midnight).
+ * <p>
+ * Visitors may reuse a response for max-age and then keep showing it while
+ * it is revalidated in the background. Requests with a token (the admin
+ * panel) must see their own edits at once, so they revalidate every time.
+ */
+@Component
+public class ContentVersionInterceptor implements HandlerInterceptor {
+
+    private final ContentVersions versions;
+    private final CacheControl publicCacheControl;
+
+    public ContentVersionInterceptor(ContentVersions versions,
+                                     @Value("${content.cache.max-age:30s}") Duration maxAge,
+                                     @Value("${content.cache.stale-while-revalidate:5m}") Duration staleWhileRevalidate) {
+        this.versions = versions;
+        this.publicCacheControl = CacheControl.maxAge(maxAge)
+                .cachePublic()
+                .staleWhileRevalidate(staleWhileRevalidate);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ContentVersioned versioned = method.getMethodAnnotation(ContentVersioned.class);
+        if (versioned == null || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        CacheControl cacheControl = request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                ? publicCacheControl
+                : CacheControl.noCache().cachePrivate();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_LANGUAGE)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);  // CORS has added its own
+        }
+
+        StringBuilder etag = new StringBuilder("W/\"");
+        for (ContentAggregate aggregate : versioned.value()) {
+            etag.append(aggregate.name().toLowerCase(Locale.ROOT)).append('-')
+                    .append(versions.current(aggregate)).append('-');
+        }
+        etag.append(variant(request)).append('"');
+        // sets the ETag, and status 304 when If-None-Match matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag.toString());
+    }
+
+    private static String variant(HttpServletRequest request) {
+        CRC32C crc = new CRC32C();
+        for (String part : new String[]{request.getRequestURI(), request.getQueryString(),
+                request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), LocalDate.now().toString()}) {
+            if (part != null) {
+                crc.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            crc.update(0);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
@@ -1,25 +1,42 @@
 package com.example.backend.Config;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import org.springframework.web.servlet.resource.ResourceResolver;
 import org.springframework.web.servlet.resource.ResourceResolverChain;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final ContentVersionInterceptor contentVersionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(contentVersionInterceptor).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**").allowedOrigins("*").allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH");
@@ -27,16 +44,35 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Content-hashed bundle files (static/ from the CRA build, assets/ from Vite):
+        // a new build changes the name, so they never need revalidation.
+        // The caching chain only stores hits, so it is bounded by the bundle.
+        for (String dir : List.of("static", "assets")) {
+            registry.addResourceHandler("/" + dir + "/**")
+                    .addResourceLocations("classpath:/static/" + dir + "/")
+                    .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver());
+        }
+
+        // index.html and the unhashed root files are revalidated on every use
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
-//                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS))
+                .setCacheControl(CacheControl.noCache())
                 .resourceChain(false)
+                .addResolver(new EncodedResourceResolver())
                 .addResolver(new PushStateResourceResolver());
     }
 
+    /**
+     * Serves existing files and falls back to index.html for client-side
+     * routes. Files found on the classpath are remembered per path; misses
+     * are not, since any URL can be requested.
+     */
     private class PushStateResourceResolver implements ResourceResolver {
         private Resource index = new ClassPathResource("/static/index.html");
-        private List<String> handledExtensions = Arrays.asList("html", "js", "json", "csv", "css", "png", "svg", "eot", "ttf", "otf", "woff", "appcache", "jpg", "jpeg", "gif", "mp3", "mp4", "ico" );
+        private Map<String, Resource> resolved = new ConcurrentHashMap<>();
+        private Set<String> handledExtensions = new HashSet<>(Arrays.asList("html", "js", "json", "csv", "css", "png", "svg", "eot", "ttf", "otf", "woff", "appcache", "jpg", "jpeg", "gif", "mp3", "mp4", "ico", "xml", "txt", "map", "webmanifest"));
         private List<String> ignoredPaths = Arrays.asList("api");
 
         @Override
@@ -62,11 +98,19 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 return null;
             }
             if (isHandled(requestPath)) {
-                return locations.stream()
+                Resource cached = resolved.get(requestPath);
+                if (cached != null) {
+                    return cached;
+                }
+                Resource resource = locations.stream()
                         .map(loc -> createRelative(loc, requestPath))
-                        .filter(resource -> resource != null && resource.exists())
+                        .filter(r -> r != null && r.exists())
                         .findFirst()
                         .orElse(null);
+                if (resource != null) {
+                    resolved.put(requestPath, resource);
+                }
+                return resource;
             }
             return index;
         }
@@ -85,7 +129,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
         private boolean isHandled(String path) {
             String extension = StringUtils.getFilenameExtension(path);
-            return handledExtensions.stream().anyMatch(ext -> ext.equals(extension));
+            return extension != null && handledExtensions.contains(extension);
         }
     }
 
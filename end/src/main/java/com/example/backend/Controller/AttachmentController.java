@@ -1,13 +1,19 @@
 package com.example.backend.Controller;
 
 import com.example.backend.Services.AttachmentService.AttachmentService;
+import com.example.backend.Services.AttachmentService.ChunkedUploadService;
+import com.example.backend.Services.AttachmentService.OrphanAttachmentCollector;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -15,16 +21,61 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AttachmentController {
     private final AttachmentService attachmentService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final OrphanAttachmentCollector orphanAttachmentCollector;
     @PostMapping("/upload")
     public HttpEntity<?> uploadFile(@RequestParam MultipartFile photo, @RequestParam String prefix) throws IOException {
         return attachmentService.uploadFile(photo, prefix);
     }
 
+    /* Many parts in one request; returns the ids in the same order as the parts */
+    @PostMapping("/upload/batch")
+    public HttpEntity<?> uploadFiles(@RequestParam List<MultipartFile> photos, @RequestParam String prefix) throws IOException {
+        return attachmentService.uploadFiles(photos, prefix);
+    }
+
+    /* ===== Chunked upload: initiate → PUT chunks (any order, in parallel) → complete ===== */
+
+    @PostMapping("/chunked")
+    public HttpEntity<?> initiateChunkedUpload(@RequestParam String prefix,
+                                               @RequestParam String fileName,
+                                               @RequestParam long size) throws IOException {
+        return chunkedUploadService.initiate(prefix, fileName, size);
+    }
+
+    @PutMapping(value = "/chunked/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public HttpEntity<?> uploadChunk(HttpServletRequest request, @PathVariable UUID id,
+                                     @RequestParam long offset) throws IOException {
+        return chunkedUploadService.writeChunk(id, offset, request.getInputStream());
+    }
+
+    @GetMapping("/chunked/{id}")
+    public HttpEntity<?> getChunkedUploadStatus(@PathVariable UUID id) {
+        return chunkedUploadService.getStatus(id);
+    }
+
+    @PostMapping("/chunked/{id}/complete")
+    public HttpEntity<?> completeChunkedUpload(@PathVariable UUID id) throws IOException {
+        return chunkedUploadService.complete(id);
+    }
+
 
 
     @GetMapping("/getFile/{id}")
-    public void getFile(HttpServletResponse response, @PathVariable UUID id) throws IOException {
-        attachmentService.getFile(response, id);
+    public void getFile(HttpServletRequest request, HttpServletResponse response, @PathVariable UUID id,
+                        @RequestParam(required = false) Integer w) throws IOException {
+        attachmentService.getFile(request, response, id, w);
+    }
+
+    @GetMapping("/cache/stats")
+    public HttpEntity<?> getCacheStats() {
+        return attachmentService.getCacheStats();
+    }
+
+    /* Runs the orphaned-attachment cleanup now; dryRun only reports what would be deleted */
+    @PostMapping("/gc")
+    public HttpEntity<?> collectOrphans(@RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(orphanAttachmentCollector.run(dryRun));
     }
 
 }
@@ -1,12 +1,17 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.CarouselDto;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.Entity.Carousel;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.CarouselRepo;
 import com.example.backend.Services.CarouselService.CarouselService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -38,19 +43,33 @@ public class CarouselController {
         return coruselService.delete(id);
     }
 
+    // WEBSITE
+    @ContentVersioned(ContentAggregate.CAROUSEL)
+    @GetMapping("/website")
+    public ResponseEntity<?> getForWebsite(
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, coruselService.getForWebsite(language));
+    }
+
     // GET BY ID
+    @ContentVersioned(ContentAggregate.CAROUSEL)
     @GetMapping("/{id}")
     public Carousel getById(@PathVariable Integer id) {
         return coruselService.getById(id);
     }
 
     // GET ALL
+    @ContentVersioned(ContentAggregate.CAROUSEL)
     @GetMapping
     public HttpEntity<?> getAll() {
         return coruselService.getAll();
     }
 
     // PAGINATION
+    @ContentVersioned(ContentAggregate.CAROUSEL)
     @GetMapping("/page")
     public Page<Carousel> getPage(
             @RequestParam(defaultValue = "0") int page,
@@ -58,4 +77,15 @@ public class CarouselController {
     ) {
         return coruselService.getPage(page, size);
     }
+
+    // SCROLL (keyset variant of /page)
+    @ContentVersioned(ContentAggregate.CAROUSEL)
+    @GetMapping("/scroll")
+    public CursorSlice<Carousel> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return coruselService.scroll(cursor, size, count);
+    }
 }
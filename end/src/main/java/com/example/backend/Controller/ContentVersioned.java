@@ -0,0 +1,15 @@
+package com.example.backend.Controller;
+
+import com.example.backend.Enums.ContentAggregate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/* GET endpoint whose response only changes with these aggregates' versions: gets an ETag and Cache-Control */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ContentVersioned {
+    ContentAggregate[] value();
+}
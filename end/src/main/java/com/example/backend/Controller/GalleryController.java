@@ -1,9 +1,12 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.GalleryDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Services.GalleryService.GalleryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,12 +24,15 @@ public class GalleryController {
     }
 
     /* ================= GET ALL ================= */
+    /* the entity endpoints embed each item's tour, so tour changes count too; the website ones only carry its id */
+    @ContentVersioned({ContentAggregate.GALLERY, ContentAggregate.TRAVEL_TOUR})
     @GetMapping
     public HttpEntity<?> getAll() {
         return galleryService.getAll();
     }
 
     /* ================= GET BY PAGINATION ================= */
+    @ContentVersioned({ContentAggregate.GALLERY, ContentAggregate.TRAVEL_TOUR})
     @GetMapping("/page")
     public ResponseEntity<?> getPage(
             @RequestParam(defaultValue = "0") int page,
@@ -35,12 +41,61 @@ public class GalleryController {
         return ResponseEntity.ok(galleryService.getPage(page, size));
     }
 
+    @ContentVersioned({ContentAggregate.GALLERY, ContentAggregate.TRAVEL_TOUR})
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(galleryService.scroll(cursor, size, count));
+    }
+
+    @ContentVersioned({ContentAggregate.GALLERY, ContentAggregate.TRAVEL_TOUR})
     @GetMapping("/travel/{travelId}")
     public ResponseEntity<?> getByTravelId(@PathVariable Integer travelId) {
         return ResponseEntity.ok(galleryService.getByTravelTourId(travelId));
     }
 
+    /* ================= WEBSITE ================= */
+    @ContentVersioned(ContentAggregate.GALLERY)
+    @GetMapping("/website")
+    public ResponseEntity<?> getForWebsite(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, galleryService.getForWebsite(page, size, language));
+    }
+
+    @ContentVersioned(ContentAggregate.GALLERY)
+    @GetMapping("/website/scroll")
+    public ResponseEntity<?> scrollForWebsite(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, galleryService.scrollForWebsite(cursor, size, count, language));
+    }
+
+    @ContentVersioned(ContentAggregate.GALLERY)
+    @GetMapping("/website/travel/{travelId}")
+    public ResponseEntity<?> getByTravelIdForWebsite(
+            @PathVariable Integer travelId,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, galleryService.getByTravelTourIdForWebsite(travelId, language));
+    }
+
     /* ================= GET BY ID ================= */
+    @ContentVersioned({ContentAggregate.GALLERY, ContentAggregate.TRAVEL_TOUR})
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Integer id) {
         return ResponseEntity.ok(galleryService.getById(id));
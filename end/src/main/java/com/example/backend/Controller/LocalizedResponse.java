@@ -0,0 +1,19 @@
+package com.example.backend.Controller;
+
+import com.example.backend.Enums.Language;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/* Website reads in one language: the body depends on lang / Accept-Language, so say which and let caches vary on it */
+final class LocalizedResponse {
+
+    private LocalizedResponse() {
+    }
+
+    static <T> ResponseEntity<T> ok(Language language, T body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_LANGUAGE, language.tag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+                .body(body);
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.NewsDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Services.NewsService.NewsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +17,7 @@ public class NewsController {
 
     private final NewsService newsService;
 
+    @ContentVersioned(ContentAggregate.NEWS)
     @GetMapping("/page")
     public ResponseEntity<?> getNewsPage(
             @RequestParam(defaultValue = "0") int page,
@@ -22,17 +26,65 @@ public class NewsController {
         return ResponseEntity.ok(newsService.getNewsPage(page, size));
     }
 
+    @ContentVersioned(ContentAggregate.NEWS)
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(newsService.scrollNews(cursor, size, count));
+    }
+
+    /* ================= WEBSITE ================= */
+    @ContentVersioned(ContentAggregate.NEWS)
+    @GetMapping("/website")
+    public ResponseEntity<?> getNewsPageForWebsite(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, newsService.getNewsPageForWebsite(page, size, language));
+    }
+
+    @ContentVersioned(ContentAggregate.NEWS)
+    @GetMapping("/website/scroll")
+    public ResponseEntity<?> scrollNewsForWebsite(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, newsService.scrollNewsForWebsite(cursor, size, count, language));
+    }
+
+    @ContentVersioned(ContentAggregate.NEWS)
+    @GetMapping("/website/{id}")
+    public ResponseEntity<?> getNewsForWebsite(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, newsService.getNewsForWebsite(id, language));
+    }
 
     @PostMapping
     public HttpEntity<?> addNews(@RequestBody NewsDto news) {
         return newsService.addNews(news);
     }
 
+    @ContentVersioned(ContentAggregate.NEWS)
     @GetMapping
     public HttpEntity<?> getAllNews() {
         return newsService.getAllNews();
     }
 
+    @ContentVersioned(ContentAggregate.NEWS)
     @GetMapping("/{id}")
     public ResponseEntity<?> getNewsById(@PathVariable Integer id) {
         return ResponseEntity.ok(newsService.getNewsById(id));
@@ -1,5 +1,6 @@
 package com.example.backend.Controller;
 
+import com.example.backend.Enums.TourStatus;
 import com.example.backend.Repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -88,9 +90,15 @@ public class StatisticController {
         tourStats.put("total", travelTourRepo.count());
         tourStats.put("active", travelTourRepo.countByActiveTrue());
         tourStats.put("inactive", travelTourRepo.countByActiveFalse());
-        tourStats.put("upcoming", travelTourRepo.countByStartDateAfter(today));
-        tourStats.put("ongoing", travelTourRepo.countByStartDateBeforeAndEndDateAfter(today, today));
-        tourStats.put("completed", travelTourRepo.countByEndDateBefore(today));
+        Map<TourStatus, Long> byStatus = new EnumMap<>(TourStatus.class);
+        for (Object[] row : travelTourRepo.countGroupedByStatus()) {
+            if (row[0] != null) {
+                byStatus.put((TourStatus) row[0], (Long) row[1]);
+            }
+        }
+        tourStats.put("upcoming", byStatus.getOrDefault(TourStatus.UPCOMING, 0L));
+        tourStats.put("ongoing", byStatus.getOrDefault(TourStatus.ONGOING, 0L));
+        tourStats.put("completed", byStatus.getOrDefault(TourStatus.COMPLETED, 0L));
         tourStats.put("withImages", travelTourRepo.countByImagesIsNotEmpty());
         tourStats.put("withoutImages", travelTourRepo.countByImagesIsEmpty());
         tourStats.put("createdToday", travelTourRepo.countByCreatedAtBetween(startOfDay, endOfDay));
@@ -1,9 +1,13 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.TourDayDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Services.TourDayService.TourDayService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,18 +24,33 @@ public class TourDayController {
     }
 
     /* ================= GET ALL ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping
     public HttpEntity<?> getAll() {
         return tourDayService.getAll();
     }
 
     /* ================= GET BY TOUR ID ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping("/by-tour/{tourId}")
     public HttpEntity<?> getByTourId(@PathVariable Integer tourId) {
         return tourDayService.getByTourId(tourId);
     }
 
+    /* ================= WEBSITE ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/website/by-tour/{tourId}")
+    public ResponseEntity<?> getByTourIdForWebsite(
+            @PathVariable Integer tourId,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, tourDayService.getByTourIdForWebsite(tourId, language));
+    }
+
     /* ================= GET BY ID ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping("/{id}")
     public HttpEntity<?> getById(@PathVariable Integer id) {
         return tourDayService.getById(id);
@@ -1,9 +1,12 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.TravelPartnerDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Services.TravelPartnerService.TravelPartnerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,12 +24,14 @@ public class TravelPartnerController {
     }
 
     /* ================= GET ALL (ADMIN) ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_PARTNER)
     @GetMapping
     public HttpEntity<?> getAll() {
         return partnerService.getAll();
     }
 
     /* ================= PAGINATION (ADMIN) ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_PARTNER)
     @GetMapping("/page")
     public ResponseEntity<?> getPage(
             @RequestParam(defaultValue = "0") int page,
@@ -35,16 +40,47 @@ public class TravelPartnerController {
         return ResponseEntity.ok(partnerService.getPage(page, size));
     }
 
+    @ContentVersioned(ContentAggregate.TRAVEL_PARTNER)
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(partnerService.scroll(cursor, size, count));
+    }
+
     /* ================= WEBSITE ================= */
+    /* Without lang: all languages, as the current site build expects. With lang: flat, one language */
+    @ContentVersioned(ContentAggregate.TRAVEL_PARTNER)
     @GetMapping("/website")
     public ResponseEntity<?> getForWebsite(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String lang
+    ) {
+        if (lang == null) {
+            return ResponseEntity.ok(partnerService.getActiveForWebsite(page, size));
+        }
+        Language language = Language.resolve(lang, null);
+        return LocalizedResponse.ok(language, partnerService.getActiveForWebsite(page, size, language));
+    }
+
+    @ContentVersioned(ContentAggregate.TRAVEL_PARTNER)
+    @GetMapping("/website/scroll")
+    public ResponseEntity<?> scrollForWebsite(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
     ) {
-        return ResponseEntity.ok(partnerService.getActiveForWebsite(page, size));
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, partnerService.scrollActiveForWebsite(cursor, size, count, language));
     }
 
     /* ================= GET BY ID ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_PARTNER)
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Integer id) {
         return ResponseEntity.ok(partnerService.getById(id));
@@ -1,9 +1,13 @@
 package com.example.backend.Controller;
 
+import com.example.backend.DTO.TourFilterDto;
 import com.example.backend.DTO.TravelTourDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Services.TravelTourService.TravelTourService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,12 +25,14 @@ public class TravelTourController {
     }
 
     /* ================= GET ALL (ADMIN) ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping
     public HttpEntity<?> getAll() {
         return tourService.getAll();
     }
 
     /* ================= PAGINATION (ADMIN) ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping("/page")
     public ResponseEntity<?> getPage(
             @RequestParam(defaultValue = "0") int page,
@@ -35,6 +41,7 @@ public class TravelTourController {
         return ResponseEntity.ok(tourService.getPage(page, size));
     }
 
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
 
     @GetMapping("/old/page")
     public ResponseEntity<?> getOldPage(
@@ -44,21 +51,111 @@ public class TravelTourController {
         return ResponseEntity.ok(tourService.getOldPage(page, size));
     }
 
+    /* Keyset variants of the pages above: pass nextCursor back as cursor; count=true adds totalElements */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(tourService.scroll(cursor, size, count));
+    }
+
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/old/scroll")
+    public ResponseEntity<?> scrollOld(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(tourService.scrollOld(cursor, size, count));
+    }
+
     /* ================= WEBSITE ================= */
+    /* Without lang: all languages, as the current site build expects. With lang: flat, one language */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping("/website")
     public ResponseEntity<?> getForWebsite(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "9") int size
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(required = false) String lang
     ) {
-        return ResponseEntity.ok(tourService.getForWebsite(page, size));
+        if (lang == null) {
+            return ResponseEntity.ok(tourService.getForWebsite(page, size));
+        }
+        Language language = Language.resolve(lang, null);
+        return LocalizedResponse.ok(language, tourService.getForWebsite(page, size, language));
+    }
+
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/website/scroll")
+    public ResponseEntity<?> scrollForWebsite(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, tourService.scrollForWebsite(cursor, size, count, language));
+    }
+
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/website/{id}")
+    public ResponseEntity<?> getByIdForWebsite(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, tourService.getForWebsite(id, language));
+    }
+
+    /* ================= FILTER (WEBSITE) ================= */
+    /* Query parameters bind to TourFilterDto: minPrice, maxPrice, currency, from, to, minDays, maxDays, city, sort */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/website/filter")
+    public ResponseEntity<?> filter(
+            TourFilterDto filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, tourService.filter(filter, page, size, language));
+    }
+
+    /* ================= SEARCH (WEBSITE) ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, tourService.search(q, page, size, language));
     }
 
     /* ================= GET BY ID ================= */
+    @ContentVersioned(ContentAggregate.TRAVEL_TOUR)
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Integer id) {
         return ResponseEntity.ok(tourService.getById(id));
     }
 
+    /* ================= DETAIL PAGE ================= */
+    /* the tour, its days and its gallery: what /{id}, /tour-days/by-tour/{id} and /gallery/travel/{id} return together */
+    @ContentVersioned({ContentAggregate.TRAVEL_TOUR, ContentAggregate.GALLERY})
+    @GetMapping("/{id}/full")
+    public ResponseEntity<?> getFull(@PathVariable Integer id) {
+        return ResponseEntity.ok(tourService.getFull(id));
+    }
+
     /* ================= UPDATE ================= */
     @PutMapping("/{id}")
     public HttpEntity<?> update(
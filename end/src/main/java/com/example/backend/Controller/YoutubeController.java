@@ -1,9 +1,12 @@
 package com.example.backend.Controller;
 
 import com.example.backend.DTO.YoutubeDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Services.YoutubeService.YoutubeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,12 +24,14 @@ public class YoutubeController {
     }
 
     /* ================= GET ALL ================= */
+    @ContentVersioned(ContentAggregate.YOUTUBE)
     @GetMapping
     public HttpEntity<?> getAll() {
         return youtubeService.getAll();
     }
 
     /* ================= GET BY PAGINATION ================= */
+    @ContentVersioned(ContentAggregate.YOUTUBE)
     @GetMapping("/page")
     public ResponseEntity<?> getPage(
             @RequestParam(defaultValue = "0") int page,
@@ -35,7 +40,44 @@ public class YoutubeController {
         return ResponseEntity.ok(youtubeService.getPage(page, size));
     }
 
+    @ContentVersioned(ContentAggregate.YOUTUBE)
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count
+    ) {
+        return ResponseEntity.ok(youtubeService.scroll(cursor, size, count));
+    }
+
+    /* ================= WEBSITE ================= */
+    @ContentVersioned(ContentAggregate.YOUTUBE)
+    @GetMapping("/website")
+    public ResponseEntity<?> getForWebsite(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, youtubeService.getForWebsite(page, size, language));
+    }
+
+    @ContentVersioned(ContentAggregate.YOUTUBE)
+    @GetMapping("/website/scroll")
+    public ResponseEntity<?> scrollForWebsite(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count,
+            @RequestParam(required = false) String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage
+    ) {
+        Language language = Language.resolve(lang, acceptLanguage);
+        return LocalizedResponse.ok(language, youtubeService.scrollForWebsite(cursor, size, count, language));
+    }
+
     /* ================= GET BY ID ================= */
+    @ContentVersioned(ContentAggregate.YOUTUBE)
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Integer id) {
         return ResponseEntity.ok(youtubeService.getById(id));
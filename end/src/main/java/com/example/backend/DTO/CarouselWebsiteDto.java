@@ -0,0 +1,17 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarouselWebsiteDto {
+    private Integer id;
+    private String title;
+    private String description;
+    private UUID mediaId;
+}
@@ -0,0 +1,71 @@
+package com.example.backend.DTO;
+
+import com.example.backend.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position in a scroll listing: the sort key of the last row sent and its id
+ * as the tiebreaker. The next page seeks past it, {@code (key, id) < cursor}
+ * for newest-first lists and {@code >} for sort-order lists, so a deep page
+ * costs the same as the first one.
+ * <p>
+ * Clients get it as an opaque token. {@code createdAt} keys are kept in
+ * microseconds, the precision of a Postgres timestamp.
+ */
+public record Cursor(long key, int id) {
+
+    /* Before the first row of a newest-first listing */
+    public static final Cursor NEWEST = after(LocalDateTime.of(9999, 12, 31, 0, 0), Integer.MAX_VALUE);
+
+    /* Before the first row of a listing in sortOrder */
+    public static final Cursor LOWEST_ORDER = new Cursor(Integer.MIN_VALUE, Integer.MIN_VALUE);
+
+    /* Keys a token may carry: any sortOrder, and createdAt from year 1 up to NEWEST */
+    private static final long MIN_KEY = after(LocalDateTime.of(1, 1, 1, 0, 0), 0).key();
+
+    public static Cursor after(LocalDateTime createdAt, Integer id) {
+        return new Cursor(createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdAt.getNano() / 1_000, id);
+    }
+
+    public static Cursor after(Integer sortOrder, Integer id) {
+        return new Cursor(sortOrder, id);
+    }
+
+    public LocalDateTime createdAt() {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, 1_000_000),
+                (int) Math.floorMod(key, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    public int sortOrder() {
+        return (int) key;
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "." + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /* A blank token starts from {@code first} */
+    public static Cursor decode(String token, Cursor first) {
+        if (token == null || token.isBlank()) {
+            return first;
+        }
+        Cursor cursor;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            int dot = value.indexOf('.');
+            cursor = new Cursor(Long.parseLong(value.substring(0, dot)), Integer.parseInt(value.substring(dot + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+        // well-formed, but a createdAt that no timestamp column holds
+        if (cursor.key() < MIN_KEY || cursor.key() > NEWEST.key()) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+        return cursor;
+    }
+}
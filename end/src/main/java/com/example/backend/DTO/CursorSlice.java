@@ -0,0 +1,30 @@
+package com.example.backend.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/* One scroll page. totalElements is only counted when asked for (count=true) */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSlice<T> {
+
+    private List<T> content;
+    private boolean hasNext;
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    public static <T> CursorSlice<T> of(Slice<T> slice, Function<T, Cursor> cursorOf, Long totalElements) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorSlice<>(content, slice.hasNext(), next, totalElements);
+    }
+}
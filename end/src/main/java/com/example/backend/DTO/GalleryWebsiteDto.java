@@ -0,0 +1,19 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GalleryWebsiteDto {
+    private Integer id;
+    private String description;
+    private UUID mediaId;
+    private Integer travelTourId;
+    private LocalDateTime createdAt;
+}
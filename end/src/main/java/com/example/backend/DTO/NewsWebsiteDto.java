@@ -0,0 +1,33 @@
+package com.example.backend.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/* Website shape of News: one language, media as ids */
+@Data
+@NoArgsConstructor
+public class NewsWebsiteDto {
+
+    private Integer id;
+    private String title;
+    private String description;
+
+    private UUID mainPhotoId;
+    private LocalDateTime createdAt;
+
+    /* filled after the main query */
+    private List<UUID> photoIds = new ArrayList<>();
+
+    public NewsWebsiteDto(Integer id, String title, String description, UUID mainPhotoId, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.mainPhotoId = mainPhotoId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TourDayWebsiteDto {
+    private Integer id;
+    private Integer position;
+    private String title;
+    private String description;
+}
@@ -0,0 +1,42 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/* Website tour filter, bound from query parameters; every field is optional */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TourFilterDto {
+
+    /* ================= PRICE ================= */
+    private Double minPrice;
+    private Double maxPrice;
+    /* required with minPrice or maxPrice */
+    private String currency;
+
+    /* ================= DATES ================= */
+    /* the tour has to start on or after `from` and end on or before `to` */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    /* ================= DURATION (DAYS, INCLUSIVE) ================= */
+    private Integer minDays;
+    private Integer maxDays;
+
+    /* ================= CITY ================= */
+    /* a city name as returned in the facets, in the requested language */
+    private String city;
+
+    /* newest (default), price_asc, price_desc, start_date */
+    private String sort;
+}
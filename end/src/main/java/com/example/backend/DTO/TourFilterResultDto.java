@@ -0,0 +1,41 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/*
+ * A filtered page with its facets. Each facet is counted with every filter
+ * applied except its own, so picking a city does not hide the other cities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TourFilterResultDto {
+
+    private Page<TravelTourWebsiteDto> tours;
+    private List<CityFacet> cities;
+    private List<PriceFacet> prices;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CityFacet {
+        private String city;
+        private long count;
+    }
+
+    /* [from, to) in one currency; null from/to means open-ended */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceFacet {
+        private String currency;
+        private Double from;
+        private Double to;
+        private long count;
+    }
+}
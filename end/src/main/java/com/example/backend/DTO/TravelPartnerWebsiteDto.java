@@ -0,0 +1,21 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TravelPartnerWebsiteDto {
+    private Integer id;
+    private String name;
+    private String description;
+    private UUID logoId;
+    private String website;
+    private String phone;
+    private String email;
+    private Integer sortOrder;
+}
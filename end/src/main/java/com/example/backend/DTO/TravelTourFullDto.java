@@ -0,0 +1,90 @@
+package com.example.backend.DTO;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.TourStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Everything the tour detail page shows, in one response: the tour as
+ * /travel-tours/{id} returns it, its days by position and its gallery,
+ * newest first.
+ * <p>
+ * Kept across requests by TourDetailCache, so it is a snapshot: plain values
+ * copied out of the entities, lists that cannot be changed.
+ */
+public record TravelTourFullDto(Tour tour, List<Day> days, List<GalleryItem> gallery) {
+
+    public TravelTourFullDto {
+        days = copy(days);
+        gallery = copy(gallery);
+    }
+
+    public static TravelTourFullDto of(TravelTour tour, List<Day> days, List<GalleryItem> gallery) {
+        return new TravelTourFullDto(Tour.of(tour), days, gallery);
+    }
+
+    /* same fields as the TravelTour entity */
+    public record Tour(Integer id,
+                       String title_uz, String title_ru, String title_en, String title_turk,
+                       LocalDate startDate, LocalDate endDate, TourStatus status,
+                       Double price, String currency,
+                       List<String> cities_uz, List<String> cities_ru, List<String> cities_en, List<String> cities_turk,
+                       String description_uz, String description_ru, String description_en, String description_turk,
+                       String itineraryDetails,
+                       List<Media> images, Boolean active, Media file, LocalDateTime createdAt) {
+
+        static Tour of(TravelTour tour) {
+            List<Media> images = tour.getImages() == null ? List.of()
+                    : tour.getImages().stream().map(Media::of).toList();
+            return new Tour(tour.getId(),
+                    tour.getTitle_uz(), tour.getTitle_ru(), tour.getTitle_en(), tour.getTitle_turk(),
+                    tour.getStartDate(), tour.getEndDate(), tour.getStatus(),
+                    tour.getPrice(), tour.getCurrency(),
+                    copy(tour.getCities_uz()), copy(tour.getCities_ru()),
+                    copy(tour.getCities_en()), copy(tour.getCities_turk()),
+                    tour.getDescription_uz(), tour.getDescription_ru(),
+                    tour.getDescription_en(), tour.getDescription_turk(),
+                    tour.getItineraryDetails(),
+                    images, tour.getActive(), tour.getFile() != null ? Media.of(tour.getFile()) : null,
+                    tour.getCreatedAt());
+        }
+    }
+
+    /* an attachment as the entity serializes it */
+    public record Media(UUID id, String prefix, String name, String contentType, Long size, String contentHash,
+                        Integer width, Integer height, String dominantColor, String blurHash,
+                        LocalDateTime createdAt) {
+
+        static Media of(Attachment attachment) {
+            return new Media(attachment.getId(), attachment.getPrefix(), attachment.getName(),
+                    attachment.getContentType(), attachment.getSize(), attachment.getContentHash(),
+                    attachment.getWidth(), attachment.getHeight(), attachment.getDominantColor(),
+                    attachment.getBlurHash(), attachment.getCreatedAt());
+        }
+    }
+
+    /* a tour day without its tour, which is already at the top */
+    public record Day(Integer id, Integer order,
+                      String title_uz, String title_ru, String title_en, String title_turk,
+                      String description_uz, String description_ru, String description_en,
+                      String description_turk) {
+    }
+
+    /* a gallery row without its tour */
+    public record GalleryItem(Integer id, UUID mediaId,
+                              String description_uz, String description_ru, String description_en,
+                              String description_turk, LocalDateTime createdAt) {
+    }
+
+    /* unmodifiable, null elements allowed (city arrays may hold them) */
+    private static <T> List<T> copy(List<T> list) {
+        return list == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+}
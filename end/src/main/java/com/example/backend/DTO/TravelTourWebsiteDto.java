@@ -0,0 +1,51 @@
+package com.example.backend.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/* A tour in the requested language only; see Enums.Language */
+@Data
+@NoArgsConstructor
+public class TravelTourWebsiteDto {
+
+    private Integer id;
+    private String title;
+    private String description;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    private Double price;
+    private String currency;
+
+    private String itineraryDetails;
+
+    private UUID fileId;
+    private LocalDateTime createdAt;
+
+    /* filled after the main query, from the language's cities_xx text[] column */
+    private List<String> cities = new ArrayList<>();
+    private List<UUID> imageIds = new ArrayList<>();
+
+    public TravelTourWebsiteDto(Integer id, String title, String description,
+                                LocalDate startDate, LocalDate endDate,
+                                Double price, String currency, String itineraryDetails,
+                                UUID fileId, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.price = price;
+        this.currency = currency;
+        this.itineraryDetails = itineraryDetails;
+        this.fileId = fileId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class YoutubeWebsiteDto {
+    private Integer id;
+    private String iframe;
+    private String description;
+    private LocalDateTime createdAt;
+}
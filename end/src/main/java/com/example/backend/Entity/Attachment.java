@@ -1,16 +1,11 @@
 package com.example.backend.Entity;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.springframework.util.FileCopyUtils;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -26,19 +21,28 @@ public class Attachment {
     private String prefix;
     private String name;
 
-    public static Attachment createAttachment(MultipartFile photo, String prefix) throws IOException {
-        Attachment attachment = null;
-        if (photo != null && !photo.isEmpty()) {
-            UUID id = UUID.randomUUID();
-            String fileName = id + "_" + photo.getOriginalFilename();
-            String filePath = "backend/files" + prefix + "/" + fileName;
-            File file = new File(filePath);
-            file.getParentFile().mkdirs();
-            try (OutputStream outputStream = new FileOutputStream(file)) {
-                FileCopyUtils.copy(photo.getInputStream(), outputStream);
-            }
-            attachment = new Attachment(id, prefix, fileName);
-        }
-        return attachment;
-    }
+    /* Filled on upload; content never changes for a given id */
+    private String contentType;
+    private Long size;
+    @Column(length = 64)
+    private String contentHash;
+
+    /* Images only: placeholder shown until the file arrives (see ImagePlaceholder) */
+    private Integer width;
+    private Integer height;
+    @Column(length = 7)
+    private String dominantColor;
+    @Column(length = 64)
+    private String blurHash;
+
+    /* null for files uploaded before blobs, stored at backend/files/{prefix}/{name} */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_hash")
+    private AttachmentBlob blob;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,37 @@
+package com.example.backend.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored file, keyed by the SHA-256 of its content. Any number of
+ * attachments may point at the same blob; the file is removed only when
+ * {@code refCount} drops to zero.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "attachment_blob")
+public class AttachmentBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private Long size;
+    private String contentType;
+    private Integer refCount;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
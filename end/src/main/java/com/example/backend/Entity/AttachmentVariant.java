@@ -0,0 +1,38 @@
+package com.example.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resized copy of an image attachment, generated in the background after upload.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "attachment_variant")
+public class AttachmentVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Attachment attachment;
+
+    private Integer width;
+    private Integer height;
+    private String name;
+    private String contentType;
+    private Long size;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,42 @@
+package com.example.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Upload in progress: chunks are written straight into
+ * {@code backend/files/tmp/uploads/{id}.part} and recorded in
+ * {@code chunked_upload_chunks} until the client completes it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "chunked_upload")
+public class ChunkedUpload {
+    @Id
+    private UUID id;
+    private String prefix;
+    private String fileName;
+    private Long size;
+    private Integer chunkSize;
+    private Integer totalChunks;
+
+    /* written with ChunkedUploadRepo.markReceived, so parallel chunks never overwrite each other */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ElementCollection
+    @CollectionTable(name = "chunked_upload_chunks", joinColumns = @JoinColumn(name = "upload_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"upload_id", "chunk_index"}))
+    @Column(name = "chunk_index")
+    private Set<Integer> receivedChunks;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
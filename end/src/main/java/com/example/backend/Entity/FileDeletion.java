@@ -0,0 +1,39 @@
+package com.example.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * File to remove once the transaction that stopped referencing it has
+ * committed: either an {@code AttachmentStorage} key or, for attachments
+ * stored before blobs, a path under {@code backend/files}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "file_deletion")
+public class FileDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 512)
+    private String storageKey;
+
+    @Column(length = 1024)
+    private String localPath;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
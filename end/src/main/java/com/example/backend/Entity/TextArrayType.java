@@ -0,0 +1,91 @@
+package com.example.backend.Entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maps a {@code List<String>} to a Postgres {@code text[]} column, e.g. the
+ * tour cities. The whole list is one value: changing it updates one column
+ * instead of rewriting a collection table. {@code null} elements are not
+ * supported.
+ */
+public class TextArrayType implements UserType<List<String>> {
+
+    @Override
+    public int getSqlType() {
+        return Types.ARRAY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<List<String>> returnedClass() {
+        return (Class<List<String>>) (Class<?>) List.class;
+    }
+
+    @Override
+    public boolean equals(List<String> x, List<String> y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(List<String> x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public List<String> nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        Array array = rs.getArray(position);
+        if (array == null) {
+            return null;
+        }
+        try {
+            return new ArrayList<>(Arrays.asList((String[]) array.getArray()));
+        } finally {
+            array.free();
+        }
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, List<String> value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.ARRAY);
+        } else {
+            st.setArray(index, st.getConnection().createArrayOf("text", value.toArray(String[]::new)));
+        }
+    }
+
+    @Override
+    public List<String> deepCopy(List<String> value) {
+        return value == null ? null : new ArrayList<>(value);
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(List<String> value) {
+        return (Serializable) deepCopy(value);
+    }
+
+    @Override
+    public List<String> assemble(Serializable cached, Object owner) {
+        @SuppressWarnings("unchecked")
+        List<String> value = (List<String>) cached;
+        return deepCopy(value);
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.backend.Entity;
 
+import com.example.backend.Enums.TourStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -40,42 +43,32 @@ public class TravelTour {
     private LocalDate startDate;
     private LocalDate endDate;
 
+    /* follows the dates: set on save, advanced by TourStatusJob (partial indexes in db/migration/V5) */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private TourStatus status;
+
     /* ================= PRICE ================= */
     private Double price;
     private String currency;
 
     /* ================= CITIES ================= */
+    /* One text[] column per language, GIN-indexed (db/migration/V3) */
 
-    @ElementCollection
-    @CollectionTable(
-            name = "travel_tour_cities_uz",
-            joinColumns = @JoinColumn(name = "tour_id")
-    )
-    @Column(name = "cities_uz")
+    @Type(TextArrayType.class)
+    @Column(name = "cities_uz", columnDefinition = "text[]")
     private List<String> cities_uz;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "travel_tour_cities_ru",
-            joinColumns = @JoinColumn(name = "tour_id")
-    )
-    @Column(name = "cities_ru")
+    @Type(TextArrayType.class)
+    @Column(name = "cities_ru", columnDefinition = "text[]")
     private List<String> cities_ru;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "travel_tour_cities_en",
-            joinColumns = @JoinColumn(name = "tour_id")
-    )
-    @Column(name = "cities_en")
+    @Type(TextArrayType.class)
+    @Column(name = "cities_en", columnDefinition = "text[]")
     private List<String> cities_en;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "travel_tour_cities_turk",
-            joinColumns = @JoinColumn(name = "tour_id")
-    )
-    @Column(name = "cities_turk")
+    @Type(TextArrayType.class)
+    @Column(name = "cities_turk", columnDefinition = "text[]")
     private List<String> cities_turk;
 
     /* ================= DESCRIPTIONS ================= */
@@ -97,6 +90,7 @@ public class TravelTour {
 
     /* ================= IMAGES ================= */
     @ManyToMany
+    @BatchSize(size = 100)
     private List<Attachment> images;
 
     /* ================= DISPLAY ================= */
@@ -0,0 +1,11 @@
+package com.example.backend.Enums;
+
+/* Website content that is versioned together, see ContentVersions. Tour days belong to their tour */
+public enum ContentAggregate {
+    TRAVEL_TOUR,
+    NEWS,
+    CAROUSEL,
+    GALLERY,
+    YOUTUBE,
+    TRAVEL_PARTNER
+}
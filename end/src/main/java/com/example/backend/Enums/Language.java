@@ -0,0 +1,75 @@
+package com.example.backend.Enums;
+
+import java.util.Locale;
+
+/**
+ * Content languages of the website. {@link #code()} is the suffix of the
+ * entity columns ({@code title_ru}) and the value passed to the localized
+ * queries; {@link #tag()} is the BCP 47 tag for {@code Content-Language}.
+ */
+public enum Language {
+    UZ("uz", "uz"),
+    RU("ru", "ru"),
+    EN("en", "en"),
+    TURK("turk", "tr");
+
+    private final String code;
+    private final String tag;
+
+    Language(String code, String tag) {
+        this.code = code;
+        this.tag = tag;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * {@code lang} parameter first, then the first supported language of the
+     * {@code Accept-Language} header, then Uzbek. Unknown values are skipped,
+     * not rejected.
+     */
+    public static Language resolve(String lang, String acceptLanguage) {
+        Language language = of(lang);
+        if (language != null) {
+            return language;
+        }
+        if (acceptLanguage != null && !acceptLanguage.isBlank()) {
+            try {
+                for (Locale.LanguageRange range : Locale.LanguageRange.parse(acceptLanguage)) {
+                    language = of(range.getRange());
+                    if (language != null) {
+                        return language;
+                    }
+                }
+            } catch (IllegalArgumentException ignored) {
+                // malformed header, use the default
+            }
+        }
+        return UZ;
+    }
+
+    /* "ru", "ru-RU", "tr", "turk"... or null */
+    public static Language of(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String tag = value.trim().toLowerCase(Locale.ROOT);
+        int dash = tag.indexOf('-');
+        if (dash > 0) {
+            tag = tag.substring(0, dash);
+        }
+        return switch (tag) {
+            case "uz" -> UZ;
+            case "ru" -> RU;
+            case "en" -> EN;
+            case "tr", "turk" -> TURK;
+            default -> null;
+        };
+    }
+}
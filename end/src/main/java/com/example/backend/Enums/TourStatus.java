@@ -0,0 +1,28 @@
+package com.example.backend.Enums;
+
+import java.time.LocalDate;
+
+/**
+ * Where a tour is relative to today, stored on the tour so the listings and
+ * statistics do not compare dates on every call. Set when the tour is saved
+ * and advanced at midnight by {@code TourStatusJob}.
+ */
+public enum TourStatus {
+    UPCOMING,
+    ONGOING,
+    COMPLETED;
+
+    /* null while the tour has no end date: it is in neither the upcoming nor the past list */
+    public static TourStatus of(LocalDate startDate, LocalDate endDate, LocalDate today) {
+        if (endDate == null) {
+            return null;
+        }
+        if (endDate.isBefore(today)) {
+            return COMPLETED;
+        }
+        if (startDate != null && startDate.isAfter(today)) {
+            return UPCOMING;
+        }
+        return ONGOING;
+    }
+}
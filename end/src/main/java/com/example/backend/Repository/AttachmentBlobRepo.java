@@ -0,0 +1,30 @@
+package com.example.backend.Repository;
+
+import com.example.backend.Entity.AttachmentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface AttachmentBlobRepo extends JpaRepository<AttachmentBlob, String> {
+
+    /* held until the transaction ends; nothing deletes the object of a hash while it is being stored */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:hash, 0))", nativeQuery = true)
+    int lock(String hash);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtextextended(:hash, 0))", nativeQuery = true)
+    boolean tryLock(String hash);
+
+    @Modifying
+    @Query(value = "INSERT INTO attachment_blob (hash, size, content_type, ref_count, created_at) " +
+            "VALUES (:hash, :size, :contentType, 1, now()) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = attachment_blob.ref_count + 1", nativeQuery = true)
+    void acquire(String hash, long size, String contentType);
+
+    @Modifying
+    @Query(value = "UPDATE attachment_blob SET ref_count = ref_count - 1 WHERE hash = :hash", nativeQuery = true)
+    void release(String hash);
+
+    @Modifying
+    @Query(value = "DELETE FROM attachment_blob WHERE hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(String hash);
+}
@@ -2,9 +2,48 @@ package com.example.backend.Repository;
 
 
 import com.example.backend.Entity.Attachment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface AttachmentRepo extends JpaRepository<Attachment, UUID> {
-}
\ No newline at end of file
+
+    /* Every place an attachment can be used; keep in sync with the entities */
+    String NOT_REFERENCED = "not exists (select 1 from News n where n.mainPhoto = a) " +
+            "and not exists (select 1 from News n join n.photos p where p = a) " +
+            "and not exists (select 1 from TravelTour t where t.file = a) " +
+            "and not exists (select 1 from TravelTour t join t.images i where i = a) " +
+            "and not exists (select 1 from Gallery g where g.media = a) " +
+            "and not exists (select 1 from Carousel c where c.media = a) " +
+            "and not exists (select 1 from TravelPartner tp where tp.logo = a)";
+
+    List<Attachment> findTop100ByBlobIsNullAndIdGreaterThanOrderByIdAsc(UUID id);
+
+    List<Attachment> findTop100ByWidthIsNullAndContentTypeStartingWithAndIdGreaterThanOrderByIdAsc(String contentTypePrefix, UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("update Attachment a set a.width = :width, a.height = :height, " +
+            "a.dominantColor = :dominantColor, a.blurHash = :blurHash where a.id = :id")
+    void setPlaceholder(UUID id, Integer width, Integer height, String dominantColor, String blurHash);
+
+    /**
+     * Next page of unreferenced attachments after {@code afterId}, oldest
+     * uploads only. Rows from before createdAt was recorded count as old.
+     */
+    @Query("select a from Attachment a where a.id > :afterId " +
+            "and (a.createdAt is null or a.createdAt < :createdBefore) " +
+            "and (a.prefix is null or a.prefix not in :keepPrefixes) " +
+            "and " + NOT_REFERENCED + " order by a.id")
+    List<Attachment> findOrphans(UUID afterId, LocalDateTime createdBefore, Collection<String> keepPrefixes, Pageable pageable);
+
+    @Query("select count(a) = 0 from Attachment a where a.id = :id and " + NOT_REFERENCED)
+    boolean isReferenced(UUID id);
+}
@@ -0,0 +1,11 @@
+package com.example.backend.Repository;
+
+import com.example.backend.Entity.AttachmentVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AttachmentVariantRepo extends JpaRepository<AttachmentVariant, UUID> {
+    List<AttachmentVariant> findByAttachmentIdOrderByWidthAsc(UUID attachmentId);
+}
@@ -1,12 +1,33 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.CarouselWebsiteDto;
 import com.example.backend.Entity.Carousel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CarouselRepo extends JpaRepository<Carousel, Integer> {
+
+    /* One language per slide, Uzbek as fallback */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.CarouselWebsiteDto(c.id, " +
+            "coalesce(nullif(case :lang when 'ru' then c.title_ru when 'en' then c.title_en " +
+            "when 'turk' then c.title_turk end, ''), c.title_uz), " +
+            "coalesce(nullif(case :lang when 'ru' then c.description_ru when 'en' then c.description_en " +
+            "when 'turk' then c.description_turk end, ''), c.description_uz), " +
+            "c.media.id) from Carousel c ";
+
     long countByMediaIsNotNull();
     long countByMediaIsNull();
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query(WEBSITE_DTO + "order by c.createdAt desc")
+    List<CarouselWebsiteDto> findWebsiteAll(String lang);
+
+    /* ================= SCROLL (KEYSET, see DTO.Cursor) ================= */
+    @Query("select c from Carousel c where (c.createdAt, c.id) < (:createdAt, :id) order by c.createdAt desc, c.id desc")
+    Slice<Carousel> findScroll(LocalDateTime createdAt, Integer id, Pageable pageable);
 }
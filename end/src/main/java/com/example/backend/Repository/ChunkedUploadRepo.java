@@ -0,0 +1,24 @@
+package com.example.backend.Repository;
+
+import com.example.backend.Entity.ChunkedUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ChunkedUploadRepo extends JpaRepository<ChunkedUpload, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO chunked_upload_chunks (upload_id, chunk_index) VALUES (:id, :index) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void markReceived(UUID id, int index);
+
+    @Query(value = "SELECT chunk_index FROM chunked_upload_chunks WHERE upload_id = :id ORDER BY chunk_index", nativeQuery = true)
+    List<Integer> findReceivedChunks(UUID id);
+
+    List<ChunkedUpload> findTop100ByCreatedAtBeforeAndIdGreaterThanOrderByIdAsc(LocalDateTime createdBefore, UUID id);
+}
@@ -0,0 +1,22 @@
+package com.example.backend.Repository;
+
+import com.example.backend.Entity.FileDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FileDeletionRepo extends JpaRepository<FileDeletion, Long> {
+
+    /* rows another worker is busy with are skipped rather than waited for */
+    @Query(value = "SELECT * FROM file_deletion WHERE next_attempt_at <= :now AND attempts < :maxAttempts " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<FileDeletion> lockDue(LocalDateTime now, int maxAttempts, int limit);
+
+    /* waits for a worker that is deleting the key right now */
+    @Modifying
+    @Query(value = "DELETE FROM file_deletion WHERE storage_key = :storageKey", nativeQuery = true)
+    int cancel(String storageKey);
+}
@@ -1,15 +1,47 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.GalleryWebsiteDto;
+import com.example.backend.DTO.TravelTourFullDto;
 import com.example.backend.Entity.Gallery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface GalleryRepo extends JpaRepository<Gallery, Integer> {
+
+    /* Caption in one language */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.GalleryWebsiteDto(g.id, " +
+            "coalesce(nullif(case :lang when 'ru' then g.description_ru when 'en' then g.description_en " +
+            "when 'turk' then g.description_turk end, ''), g.description_uz), " +
+            "g.media.id, g.travelTour.id, g.createdAt) from Gallery g ";
+
     long countByMediaIsNotNull();
     long countByMediaIsNull();
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
     List<Gallery> findByTravelTourId(Integer id);
+
+    @Query(value = WEBSITE_DTO + "order by g.createdAt desc", countQuery = "select count(g) from Gallery g")
+    Page<GalleryWebsiteDto> findWebsitePage(String lang, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where g.travelTour.id = :travelId order by g.createdAt desc")
+    List<GalleryWebsiteDto> findWebsiteByTravelTourId(Integer travelId, String lang);
+
+    /* ================= SCROLL (KEYSET, see DTO.Cursor) ================= */
+    @Query("select g from Gallery g where (g.createdAt, g.id) < (:createdAt, :id) order by g.createdAt desc, g.id desc")
+    Slice<Gallery> findScroll(LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where (g.createdAt, g.id) < (:createdAt, :id) order by g.createdAt desc, g.id desc")
+    Slice<GalleryWebsiteDto> findWebsiteScroll(String lang, LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    /* ================= TOUR DETAIL PAGE (see TravelTourFullDto) ================= */
+    @Query("select new com.example.backend.DTO.TravelTourFullDto$GalleryItem(g.id, g.media.id, g.description_uz, " +
+            "g.description_ru, g.description_en, g.description_turk, g.createdAt) " +
+            "from Gallery g where g.travelTour.id = :tourId order by g.createdAt desc, g.id desc")
+    List<TravelTourFullDto.GalleryItem> findItemsByTravelTourId(Integer tourId);
 }
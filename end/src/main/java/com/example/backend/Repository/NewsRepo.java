@@ -1,7 +1,9 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.NewsWebsiteDto;
 import com.example.backend.Entity.News;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,10 +12,21 @@ import  org.springframework.data.domain.Pageable; // ✅ CORRECT
 
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NewsRepo extends JpaRepository<News, Integer> {
+
+    /* Only the requested language's title and text are read (:lang is Language.code()) */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.NewsWebsiteDto(n.id, " +
+            "coalesce(nullif(case :lang when 'ru' then n.title_ru when 'en' then n.title_en " +
+            "when 'turk' then n.title_turk end, ''), n.title_uz), " +
+            "coalesce(nullif(case :lang when 'ru' then n.description_ru when 'en' then n.description_en " +
+            "when 'turk' then n.description_turk end, ''), n.description_uz), " +
+            "n.mainPhoto.id, n.createdAt) from News n ";
+
     List<News> findAllByOrderByCreatedAtDesc();
     Page<News> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
@@ -25,4 +38,21 @@ public interface NewsRepo extends JpaRepository<News, Integer> {
     long countByPhotosIsNotEmpty();
 
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query(value = WEBSITE_DTO + "order by n.createdAt desc", countQuery = "select count(n) from News n")
+    Page<NewsWebsiteDto> findWebsitePage(String lang, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where n.id = :id")
+    Optional<NewsWebsiteDto> findWebsiteById(Integer id, String lang);
+
+    /* [newsId, attachmentId] */
+    @Query("select n.id, p.id from News n join n.photos p where n.id in :ids")
+    List<Object[]> findPhotoIds(Collection<Integer> ids);
+
+    /* ================= SCROLL (KEYSET, see DTO.Cursor) ================= */
+    @Query("select n from News n where (n.createdAt, n.id) < (:createdAt, :id) order by n.createdAt desc, n.id desc")
+    Slice<News> findScroll(LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where (n.createdAt, n.id) < (:createdAt, :id) order by n.createdAt desc, n.id desc")
+    Slice<NewsWebsiteDto> findWebsiteScroll(String lang, LocalDateTime createdAt, Integer id, Pageable pageable);
 }
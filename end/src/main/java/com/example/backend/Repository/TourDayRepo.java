@@ -1,8 +1,11 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.TourDayWebsiteDto;
+import com.example.backend.DTO.TravelTourFullDto;
 import com.example.backend.Entity.TourDay;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -10,8 +13,26 @@ import java.util.List;
 
 @Repository
 public interface TourDayRepo extends JpaRepository<TourDay, Integer> {
+
+    /* Day titles in the visitor's language, Uzbek where untranslated */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.TourDayWebsiteDto(d.id, d.position, " +
+            "coalesce(nullif(case :lang when 'ru' then d.title_ru when 'en' then d.title_en " +
+            "when 'turk' then d.title_turk end, ''), d.title_uz), " +
+            "coalesce(nullif(case :lang when 'ru' then d.description_ru when 'en' then d.description_en " +
+            "when 'turk' then d.description_turk end, ''), d.description_uz)) " +
+            "from TourDay d ";
+
     List<TourDay> findByTravelTourIdOrderByPositionAsc(Integer tourId);
     boolean existsByTravelTourIdAndPosition(Integer tourId, Integer order);
 
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    @Query(WEBSITE_DTO + "where d.travelTour.id = :tourId order by d.position")
+    List<TourDayWebsiteDto> findWebsiteByTourId(Integer tourId, String lang);
+
+    /* Days of the detail page straight from the query: the eager travelTour is not loaded per row */
+    @Query("select new com.example.backend.DTO.TravelTourFullDto$Day(d.id, d.position, d.title_uz, d.title_ru, " +
+            "d.title_en, d.title_turk, d.description_uz, d.description_ru, d.description_en, d.description_turk) " +
+            "from TourDay d where d.travelTour.id = :tourId order by d.position")
+    List<TravelTourFullDto.Day> findDetailDaysByTourId(Integer tourId);
+}
@@ -1,14 +1,26 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.TravelPartnerWebsiteDto;
 import com.example.backend.Entity.TravelPartner;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TravelPartnerRepo extends JpaRepository<TravelPartner, Integer> {
+
+    /* Name and description in one language */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.TravelPartnerWebsiteDto(p.id, " +
+            "coalesce(nullif(case :lang when 'ru' then p.nameRu when 'en' then p.nameEn " +
+            "when 'turk' then p.nameTurk end, ''), p.nameUz), " +
+            "coalesce(nullif(case :lang when 'ru' then p.description_ru when 'en' then p.description_en " +
+            "when 'turk' then p.description_turk end, ''), p.description_uz), " +
+            "p.logo.id, p.website, p.phone, p.email, p.sortOrder) from TravelPartner p ";
+
     long countByActiveTrue();
     long countByActiveFalse();
     long countByLogoIsNotNull();
@@ -24,4 +36,15 @@ public interface TravelPartnerRepo extends JpaRepository<TravelPartner, Integer>
 
     // ✅ MUST return Page if Pageable is used
     Page<TravelPartner> findAllByActiveTrueOrderBySortOrderAsc(Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(value = WEBSITE_DTO + "where p.active = true order by p.sortOrder",
+            countQuery = "select count(p) from TravelPartner p where p.active = true")
+    Page<TravelPartnerWebsiteDto> findWebsitePage(String lang, Pageable pageable);
+
+    /* ================= SCROLL (KEYSET, see DTO.Cursor) ================= */
+    @Query("select p from TravelPartner p where (p.sortOrder, p.id) > (:sortOrder, :id) order by p.sortOrder, p.id")
+    Slice<TravelPartner> findScroll(Integer sortOrder, Integer id, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where p.active = true and (p.sortOrder, p.id) > (:sortOrder, :id) order by p.sortOrder, p.id")
+    Slice<TravelPartnerWebsiteDto> findWebsiteScroll(String lang, Integer sortOrder, Integer id, Pageable pageable);
+}
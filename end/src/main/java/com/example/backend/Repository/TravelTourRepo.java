@@ -1,32 +1,57 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.TravelTourWebsiteDto;
 import com.example.backend.Entity.TravelTour;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface TravelTourRepo extends JpaRepository<TravelTour, Integer> {
+
+    /* Website queries read one language: :lang is Language.code(), a missing translation falls back to Uzbek */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.TravelTourWebsiteDto(t.id, " +
+            "coalesce(nullif(case :lang when 'ru' then t.title_ru when 'en' then t.title_en " +
+            "when 'turk' then t.title_turk end, ''), t.title_uz), " +
+            "coalesce(nullif(case :lang when 'ru' then t.description_ru when 'en' then t.description_en " +
+            "when 'turk' then t.description_turk end, ''), t.description_uz), " +
+            "t.startDate, t.endDate, t.price, t.currency, t.itineraryDetails, t.file.id, t.createdAt) " +
+            "from TravelTour t ";
+
+    /* A literal, not a parameter, so the planner can match the partial indexes on status (V5) */
+    String COMPLETED = "com.example.backend.Enums.TourStatus.COMPLETED";
+
+    /* Listing pages: file joined here, cities and images batch-loaded (see TravelTour) */
+    @EntityGraph(attributePaths = "file")
     Page<TravelTour> findAllByActiveTrueOrderByCreatedAtDesc(Pageable pageable);
-    Page<TravelTour> findByEndDateGreaterThanEqualAndActiveTrue(
-            LocalDate date,
-            Pageable pageable
-    );
-
-    Page<TravelTour> findByEndDateLessThanAndActiveTrue(
-            LocalDate date,
-            Pageable pageable
-    );
+
+    /* upcoming = not completed yet (UPCOMING and ONGOING) */
+    @EntityGraph(attributePaths = "file")
+    @Query(value = "select t from TravelTour t where t.active = true and t.status <> " + COMPLETED,
+            countQuery = "select count(t) from TravelTour t where t.active = true and t.status <> " + COMPLETED)
+    Page<TravelTour> findUpcomingPage(Pageable pageable);
+
+    @EntityGraph(attributePaths = "file")
+    @Query(value = "select t from TravelTour t where t.active = true and t.status = " + COMPLETED,
+            countQuery = "select count(t) from TravelTour t where t.active = true and t.status = " + COMPLETED)
+    Page<TravelTour> findPastPage(Pageable pageable);
+
     long countByActiveTrue();
     long countByActiveFalse();
-    long countByStartDateAfter(LocalDate date);
-    long countByStartDateBeforeAndEndDateAfter(LocalDate date1, LocalDate date2);
-    long countByEndDateBefore(LocalDate date);
+
+    /* [status, count] of all tours, active or not */
+    @Query("select t.status, count(t) from TravelTour t group by t.status")
+    List<Object[]> countGroupedByStatus();
 
     @Query("SELECT COUNT(t) FROM TravelTour t WHERE SIZE(t.images) > 0")
     long countByImagesIsNotEmpty();
@@ -37,4 +62,61 @@ public interface TravelTourRepo extends JpaRepository<TravelTour, Integer> {
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
 
     Optional<TravelTour> findById(Integer travelTourId);
+
+    /* ================= WEBSITE (ONE LANGUAGE) ================= */
+    @Query(value = WEBSITE_DTO + "where t.active = true order by t.createdAt desc",
+            countQuery = "select count(t) from TravelTour t where t.active = true")
+    Page<TravelTourWebsiteDto> findWebsitePage(String lang, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where t.id = :id and t.active = true")
+    Optional<TravelTourWebsiteDto> findWebsiteById(Integer id, String lang);
+
+    /* rows of a filtered page (TourFilterQuery picks and orders the ids) */
+    @Query(WEBSITE_DTO + "where t.id in :ids")
+    List<TravelTourWebsiteDto> findWebsiteByIds(Collection<Integer> ids, String lang);
+
+    /* [tourId, cities_uz, cities_ru, cities_en, cities_turk] */
+    @Query("select t.id, t.cities_uz, t.cities_ru, t.cities_en, t.cities_turk from TravelTour t where t.id in :ids")
+    List<Object[]> findCities(Collection<Integer> ids);
+
+    /* [tourId, attachmentId] */
+    @Query("select t.id, i.id from TravelTour t join t.images i where t.id in :ids")
+    List<Object[]> findImageIds(Collection<Integer> ids);
+
+    /* ================= SCROLL (KEYSET, see DTO.Cursor) ================= */
+    @EntityGraph(attributePaths = "file")
+    @Query("select t from TravelTour t where t.active = true and t.status <> " + COMPLETED +
+            " and (t.createdAt, t.id) < (:createdAt, :id) order by t.createdAt desc, t.id desc")
+    Slice<TravelTour> findUpcomingScroll(LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "file")
+    @Query("select t from TravelTour t where t.active = true and t.status = " + COMPLETED +
+            " and (t.createdAt, t.id) < (:createdAt, :id) order by t.createdAt desc, t.id desc")
+    Slice<TravelTour> findPastScroll(LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where t.active = true and (t.createdAt, t.id) < (:createdAt, :id) " +
+            "order by t.createdAt desc, t.id desc")
+    Slice<TravelTourWebsiteDto> findWebsiteScroll(String lang, LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    @Query("select count(t) from TravelTour t where t.active = true and t.status <> " + COMPLETED)
+    long countUpcoming();
+
+    @Query("select count(t) from TravelTour t where t.active = true and t.status = " + COMPLETED)
+    long countPast();
+
+    /* ================= DETAIL PAGE (see TravelTourFullDto) ================= */
+    @EntityGraph(attributePaths = {"file", "images"})
+    @Query("select t from TravelTour t where t.id = :id")
+    Optional<TravelTour> findFullById(Integer id);
+
+    /* ================= STATUS TRANSITIONS (TourStatusJob) ================= */
+    @Modifying
+    @Query("update TravelTour t set t.status = " + COMPLETED + " where t.status <> " + COMPLETED +
+            " and t.endDate < :today")
+    int completeEnded(LocalDate today);
+
+    @Modifying
+    @Query("update TravelTour t set t.status = com.example.backend.Enums.TourStatus.ONGOING " +
+            "where t.status = com.example.backend.Enums.TourStatus.UPCOMING and t.startDate <= :today")
+    int startBegun(LocalDate today);
 }
@@ -1,11 +1,33 @@
 package com.example.backend.Repository;
 
+import com.example.backend.DTO.YoutubeWebsiteDto;
 import com.example.backend.Entity.Youtube;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 
 public interface YoutubeRepo extends JpaRepository<Youtube, Integer> {
+
+    /* Description in one language, iframe as is */
+    String WEBSITE_DTO = "select new com.example.backend.DTO.YoutubeWebsiteDto(y.id, y.iframe, " +
+            "coalesce(nullif(case :lang when 'ru' then y.description_ru when 'en' then y.description_en " +
+            "when 'turk' then y.description_turk end, ''), y.description_uz), " +
+            "y.createdAt) from Youtube y ";
+
     long countByIframeIsNotNull();
     long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query(value = WEBSITE_DTO + "order by y.createdAt desc", countQuery = "select count(y) from Youtube y")
+    Page<YoutubeWebsiteDto> findWebsitePage(String lang, Pageable pageable);
+
+    /* ================= SCROLL (KEYSET, see DTO.Cursor) ================= */
+    @Query("select y from Youtube y where (y.createdAt, y.id) < (:createdAt, :id) order by y.createdAt desc, y.id desc")
+    Slice<Youtube> findScroll(LocalDateTime createdAt, Integer id, Pageable pageable);
+
+    @Query(WEBSITE_DTO + "where (y.createdAt, y.id) < (:createdAt, :id) order by y.createdAt desc, y.id desc")
+    Slice<YoutubeWebsiteDto> findWebsiteScroll(String lang, LocalDateTime createdAt, Integer id, Pageable pageable);
 }
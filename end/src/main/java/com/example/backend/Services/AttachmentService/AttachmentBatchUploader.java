@@ -0,0 +1,216 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Stores the parts of one multipart request in parallel on the upload
+ * executor and registers them with two JDBC batches, one for the blob
+ * references and one for the attachment rows.
+ */
+@Component
+public class AttachmentBatchUploader {
+
+    private static final String LOCK_BLOB_SQL = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(?, 0))";
+    private static final String ACQUIRE_BLOB_SQL = "INSERT INTO attachment_blob (hash, size, content_type, ref_count, created_at) " +
+            "VALUES (?, ?, ?, 1, now()) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = attachment_blob.ref_count + 1";
+    private static final String CANCEL_DELETION_SQL = "DELETE FROM file_deletion WHERE storage_key = ?";
+    private static final String INSERT_ATTACHMENT_SQL = "INSERT INTO attachment " +
+            "(id, prefix, name, content_type, size, content_hash, blob_hash, created_at, " +
+            "width, height, dominant_color, blur_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private record StagedFile(UUID id, String name, Path file, String hash, long size, String contentType,
+                              ImagePlaceholder placeholder) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttachmentStorage storage;
+    private final FileDeletionWorker deletionWorker;
+    private final ImageVariantGenerator variantGenerator;
+    private final Mp4FastStart mp4FastStart;
+    private final TaskExecutor executor;
+
+    public AttachmentBatchUploader(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   AttachmentStorage storage,
+                                   FileDeletionWorker deletionWorker,
+                                   ImageVariantGenerator variantGenerator,
+                                   Mp4FastStart mp4FastStart,
+                                   @Qualifier("uploadTaskExecutor") TaskExecutor executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.storage = storage;
+        this.deletionWorker = deletionWorker;
+        this.variantGenerator = variantGenerator;
+        this.mp4FastStart = mp4FastStart;
+        this.executor = executor;
+    }
+
+    /**
+     * @return attachment ids in the order of {@code photos}
+     */
+    public List<UUID> upload(List<MultipartFile> photos, String prefix) throws IOException {
+        Files.createDirectories(AttachmentBlobStore.TMP_DIR);
+        List<CompletableFuture<StagedFile>> staging = submit(photos, this::stage);
+        List<StagedFile> staged;
+        try {
+            staged = await(staging);
+        } catch (RuntimeException e) {
+            for (CompletableFuture<StagedFile> future : staging) {
+                if (!future.isCompletedExceptionally()) {
+                    Files.deleteIfExists(future.join().file());
+                }
+            }
+            throw e;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> register(staged, prefix));
+        } finally {
+            for (StagedFile file : staged) {
+                Files.deleteIfExists(file.file());
+            }
+        }
+
+        for (StagedFile file : staged) {
+            variantGenerator.schedule(file.id(), AttachmentBlobStore.keyOf(file.hash()), file.contentType());
+        }
+        return staged.stream().map(StagedFile::id).toList();
+    }
+
+    /**
+     * Moves the part to the staging area (a rename when the container spooled
+     * it to disk), moves the moov of a video to the front, hashes it and
+     * computes the image placeholder.
+     */
+    private StagedFile stage(MultipartFile photo) {
+        UUID id = UUID.randomUUID();
+        String name = id + "_" + photo.getOriginalFilename();
+        Path file = AttachmentBlobStore.TMP_DIR.resolve(name).toAbsolutePath();
+        try {
+            photo.transferTo(file.toFile());
+
+            MessageDigest digest = AttachmentServiceImpl.sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+            String contentType = Files.probeContentType(file);
+            if (contentType == null) {
+                contentType = photo.getContentType();
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Mp4FastStart.Result fastStart = mp4FastStart.relocate(file, contentType);
+            if (fastStart != null) {
+                hash = fastStart.hash();
+                size = fastStart.size();
+            }
+            return new StagedFile(id, name, file, hash, size, contentType,
+                    ImagePlaceholder.forUpload(file, contentType));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void register(List<StagedFile> staged, String prefix) {
+        // sorted, so concurrent batches lock shared blobs in the same order
+        List<StagedFile> byHash = staged.stream().sorted(Comparator.comparing(StagedFile::hash)).toList();
+
+        // duplicates inside the batch share one object
+        List<StagedFile> unique = new ArrayList<>();
+        for (StagedFile file : byHash) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).hash().equals(file.hash())) {
+                unique.add(file);
+            }
+        }
+        for (StagedFile file : unique) {
+            jdbcTemplate.queryForObject(LOCK_BLOB_SQL, Integer.class, file.hash());
+        }
+        jdbcTemplate.batchUpdate(ACQUIRE_BLOB_SQL, byHash, byHash.size(), (ps, file) -> {
+            ps.setString(1, file.hash());
+            ps.setLong(2, file.size());
+            ps.setString(3, file.contentType());
+        });
+
+        // a blob queued for deletion by an earlier delete must survive this upload
+        jdbcTemplate.batchUpdate(CANCEL_DELETION_SQL, unique, unique.size(),
+                (ps, file) -> ps.setString(1, AttachmentBlobStore.keyOf(file.hash())));
+        // and the objects written here must not survive a rollback
+        for (StagedFile file : unique) {
+            deletionWorker.enqueueOnRollback(AttachmentBlobStore.keyOf(file.hash()));
+        }
+        await(submit(unique, file -> {
+            try {
+                storage.put(AttachmentBlobStore.keyOf(file.hash()), file.file(), file.contentType());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return file;
+        }));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ATTACHMENT_SQL, staged, staged.size(), (ps, file) -> {
+            ps.setObject(1, file.id());
+            ps.setString(2, prefix);
+            ps.setString(3, file.name());
+            ps.setString(4, file.contentType());
+            ps.setLong(5, file.size());
+            ps.setString(6, file.hash());
+            ps.setString(7, file.hash());
+            ps.setTimestamp(8, now);
+            ImagePlaceholder placeholder = file.placeholder();
+            ps.setObject(9, placeholder != null ? placeholder.width() : null, Types.INTEGER);
+            ps.setObject(10, placeholder != null ? placeholder.height() : null, Types.INTEGER);
+            ps.setString(11, placeholder != null ? placeholder.dominantColor() : null);
+            ps.setString(12, placeholder != null ? placeholder.blurHash() : null);
+        });
+    }
+
+    private <T, R> List<CompletableFuture<R>> submit(List<T> items, Function<T, R> task) {
+        return items.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> task.apply(item), executor))
+                .toList();
+    }
+
+    /**
+     * Waits for every task, then rethrows the first failure.
+     */
+    private static <R> List<R> await(List<CompletableFuture<R>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.AttachmentBlob;
+import com.example.backend.Repository.AttachmentBlobRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Content-addressed file store: each unique upload is kept once in
+ * {@link AttachmentStorage} under {@code blobs/<sha256>} and
+ * reference-counted in {@code attachment_blob}.
+ * <p>
+ * Both {@link #store} and {@link #release} lock the blob row first, so an
+ * upload of the same content either keeps the blob alive or re-creates the
+ * object after the last reference has removed it. Objects are removed by
+ * {@link FileDeletionWorker} after commit; {@link #store} cancels a pending
+ * removal (or waits for a running one) before writing the object again.
+ * <p>
+ * The object is written inside the caller's transaction, so {@link #store}
+ * also queues its removal for the case that transaction rolls back. The
+ * worker keeps the object if a committed row or a running store of the same
+ * hash (which holds {@link AttachmentBlobRepo#lock}) still needs it.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentBlobStore {
+
+    /* Local staging area; always on disk, whatever the storage backend */
+    static final Path TMP_DIR = Path.of("backend/files/tmp");
+
+    /* Flat per-prefix layout used before blobs */
+    static final Path LEGACY_DIR = Path.of("backend/files");
+
+    private final AttachmentBlobRepo blobRepo;
+    private final AttachmentStorage storage;
+    private final FileDeletionWorker deletionWorker;
+
+    public static String keyOf(String hash) {
+        return "blobs/" + hash;
+    }
+
+    /* hash of a blob key, null for any other key */
+    static String hashOf(String key) {
+        return key.startsWith("blobs/") ? key.substring("blobs/".length()) : null;
+    }
+
+    static Path legacyPath(Attachment attachment) {
+        return LEGACY_DIR.resolve(attachment.getPrefix()).resolve(attachment.getName());
+    }
+
+    /**
+     * Adds a reference to the blob with this hash and moves {@code tempFile}
+     * into storage. Identical content simply replaces the existing object.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public AttachmentBlob store(Path tempFile, String hash, long size, String contentType) throws IOException {
+        blobRepo.lock(hash);
+        blobRepo.acquire(hash, size, contentType);
+        deletionWorker.cancel(keyOf(hash));
+        deletionWorker.enqueueOnRollback(keyOf(hash));
+        storage.put(keyOf(hash), tempFile, contentType);
+        return blobRepo.getReferenceById(hash);
+    }
+
+    /**
+     * Drops one reference and queues the object for deletion once nothing
+     * points at it.
+     *
+     * @return whether this was the last reference
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean release(String hash) {
+        blobRepo.release(hash);
+        if (blobRepo.deleteIfUnreferenced(hash) == 0) {
+            return false;
+        }
+        deletionWorker.enqueue(keyOf(hash));
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.backend.Services.AttachmentService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of resolved attachment metadata, so serving a file does
+ * not need a database lookup and a {@code File.exists()} stat every time.
+ * Entries expire after a TTL and must be evicted when an attachment is deleted.
+ */
+@Component
+public class AttachmentMetadataCache {
+
+    /**
+     * @param key  storage key, or {@code null} for a legacy file outside storage
+     * @param file local file to stream, or {@code null} when the object only
+     *             exists in remote storage and is read through {@code key}
+     */
+    public record Entry(String key, Path file, String fileName, String contentType, long size,
+                        String etag, long lastModified, List<Variant> variants, long loadedAt) {
+
+        /**
+         * Smallest pre-built variant at least {@code width} pixels wide, or
+         * {@code null} when the original should be served.
+         */
+        public Variant variantFor(Integer width) {
+            if (width == null) {
+                return null;
+            }
+            return variants.stream()
+                    .filter(variant -> variant.width() >= width)
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    /** Variants are kept sorted by width, smallest first. */
+    public record Variant(int width, String key, Path file, String fileName, String contentType, long size) {
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<UUID, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AttachmentMetadataCache(@Value("${attachment.cache.max-entries:10000}") int maxEntries,
+                                   @Value("${attachment.cache.ttl:PT10M}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > AttachmentMetadataCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Entry get(UUID id) {
+        Entry entry = entries.get(id);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() > ttlMillis) {
+            entries.remove(id);
+            evictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    public synchronized void put(UUID id, Entry entry) {
+        entries.put(id, entry);
+    }
+
+    public synchronized void evict(UUID id) {
+        if (entries.remove(id) != null) {
+            evictions.increment();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return Map.of(
+                "size", size,
+                "maxEntries", maxEntries,
+                "hits", hitCount,
+                "misses", missCount,
+                "evictions", evictions.sum(),
+                "hitRate", requests == 0 ? 0.0 : (double) hitCount / requests
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Repository.AttachmentRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Turns attachment ids sent by the admin forms into entities with a single
+ * {@code findAllById} query, however many ids an entity carries.
+ * Null ids are skipped; unknown ids are all reported in one error.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentResolver {
+
+    private final AttachmentRepo attachmentRepo;
+
+    public Attachment resolve(UUID id) {
+        if (id == null) {
+            throw new RuntimeException("Attachment id is required");
+        }
+        return load(List.of(id)).get(id);
+    }
+
+    /**
+     * Loads every non-null id, e.g. a main photo and its gallery together.
+     *
+     * @return attachments by id, in the order the ids were first given
+     */
+    public Map<UUID, Attachment> load(Collection<UUID> ids) {
+        Set<UUID> wanted = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            if (id != null) {
+                wanted.add(id);
+            }
+        }
+        if (wanted.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Attachment> byId = new HashMap<>();
+        for (Attachment attachment : attachmentRepo.findAllById(wanted)) {
+            byId.put(attachment.getId(), attachment);
+        }
+        if (byId.size() < wanted.size()) {
+            List<UUID> missing = wanted.stream().filter(id -> !byId.containsKey(id)).toList();
+            throw new RuntimeException("Attachments not found: " + missing);
+        }
+
+        Map<UUID, Attachment> found = new LinkedHashMap<>();
+        for (UUID id : wanted) {
+            found.put(id, byId.get(id));
+        }
+        return found;
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.backend.Services.AttachmentService;
 
+import com.example.backend.Entity.Attachment;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpEntity;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 public interface AttachmentService {
     HttpEntity<?> uploadFile(MultipartFile photo, String prefix) throws IOException;
 
-    void getFile(HttpServletResponse response, UUID id) throws IOException;
+    HttpEntity<?> uploadFiles(List<MultipartFile> photos, String prefix) throws IOException;
+
+    void getFile(HttpServletRequest request, HttpServletResponse response, UUID id, Integer width) throws IOException;
+
+    /**
+     * Deletes the row, its variants and, unless other attachments share the
+     * same content, the stored file.
+     *
+     * @return bytes freed in storage
+     */
+    long deleteAttachment(Attachment attachment);
+
+    HttpEntity<?> getCacheStats();
 }
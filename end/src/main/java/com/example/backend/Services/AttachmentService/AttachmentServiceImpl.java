@@ -2,78 +2,269 @@ package com.example.backend.Services.AttachmentService;
 
 import com.example.backend.Entity.Attachment;
 import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.AttachmentVariantRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.util.FileCopyUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class AttachmentServiceImpl implements AttachmentService {
 
+    // Содержимое вложения никогда не меняется для одного UUID
+    private static final String IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
     private final AttachmentRepo attachmentRepo;
+    private final AttachmentBlobStore blobStore;
+    private final AttachmentStorage storage;
+    private final AttachmentBatchUploader batchUploader;
+    private final FileRangeStreamer fileRangeStreamer;
+    private final AttachmentMetadataCache metadataCache;
+    private final AttachmentVariantRepo variantRepo;
+    private final ImageVariantGenerator variantGenerator;
+    private final FileDeletionWorker deletionWorker;
+    private final DownloadOffload downloadOffload;
+    private final Mp4FastStart mp4FastStart;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public HttpEntity<?> uploadFile(MultipartFile photo, String prefix) throws IOException {
         UUID id = UUID.randomUUID();
         String fileName = id + "_" + photo.getOriginalFilename();
 
-        // ✅ Исправлен путь (добавлен разделитель)
-        String basePath = "backend/files/" + prefix;
-        File dir = new File(basePath);
-        if (!dir.exists()) dir.mkdirs();
+        // ✅ Пишем во временный файл, хэш считаем на лету
+        Files.createDirectories(AttachmentBlobStore.TMP_DIR);
+        Path tempFile = AttachmentBlobStore.TMP_DIR.resolve(fileName);
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream inputStream = new DigestInputStream(photo.getInputStream(), digest);
+                 OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                size = inputStream.transferTo(outputStream);
+            }
 
-        String filePath = basePath + "/" + fileName;
+            String probed = Files.probeContentType(tempFile);
+            String contentType = probed != null ? probed : photo.getContentType();
+            String hash = HexFormat.of().formatHex(digest.digest());
 
-        try (OutputStream outputStream = new FileOutputStream(filePath)) {
-            FileCopyUtils.copy(photo.getInputStream(), outputStream);
-        }
+            // ✅ moov в начало видео до сохранения: содержимое id потом не меняется
+            Mp4FastStart.Result fastStart = mp4FastStart.relocate(tempFile, contentType);
+            if (fastStart != null) {
+                hash = fastStart.hash();
+                size = fastStart.size();
+            }
+
+            // ✅ Размер, цвет и BlurHash — клиент рисует заглушку без лишних запросов
+            ImagePlaceholder placeholder = ImagePlaceholder.forUpload(tempFile, contentType);
 
-        Attachment attachment = new Attachment(id, prefix, fileName);
-        attachmentRepo.save(attachment);
+            Attachment attachment = Attachment.builder()
+                    .id(id)
+                    .prefix(prefix)
+                    .name(fileName)
+                    .contentType(contentType)
+                    .size(size)
+                    .contentHash(hash)
+                    .build();
+            if (placeholder != null) {
+                placeholder.applyTo(attachment);
+            }
+
+            // ✅ Транзакция только на блоб и строку: копирование и хэш уже позади,
+            // соединение с базой не ждёт диск
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        attachment.setBlob(blobStore.store(tempFile, attachment.getContentHash(),
+                                attachment.getSize(), attachment.getContentType()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    attachmentRepo.save(attachment);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            // ✅ Уменьшенные копии строятся в фоне, загрузка не ждёт
+            variantGenerator.schedule(id, AttachmentBlobStore.keyOf(hash), contentType);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
 
         return ResponseEntity.ok(id);
     }
 
     @Override
-    public void getFile(HttpServletResponse response, UUID id) throws IOException {
-        Optional<Attachment> attachmentOptional = attachmentRepo.findById(id);
-        if (attachmentOptional.isEmpty()) {
+    public HttpEntity<?> uploadFiles(List<MultipartFile> photos, String prefix) throws IOException {
+        return ResponseEntity.ok(batchUploader.upload(photos, prefix));
+    }
 
-            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+    @Override
+    public void getFile(HttpServletRequest request, HttpServletResponse response, UUID id, Integer width) throws IOException {
+        AttachmentMetadataCache.Entry entry = metadataCache.get(id);
+        if (entry == null) {
+            entry = resolve(id);
+            if (entry == null) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            metadataCache.put(id, entry);
+        }
+
+        // ✅ Ближайшая готовая уменьшенная копия (?w=), иначе оригинал
+        AttachmentMetadataCache.Variant variant = entry.variantFor(width);
+        String key = variant != null ? variant.key() : entry.key();
+        Path file = variant != null ? variant.file() : entry.file();
+        long size = variant != null ? variant.size() : entry.size();
+        String fileName = variant != null ? variant.fileName() : entry.fileName();
+        String contentType = variant != null ? variant.contentType() : entry.contentType();
+        String etag = variant != null ? variantEtag(entry.etag(), variant.width()) : entry.etag();
+
+        // ✅ Условный GET: 304 без обращения к диску
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, entry.lastModified())) {
             return;
         }
 
-        Attachment attachment = attachmentOptional.get();
-        String prefix = attachment.getPrefix();
-        String name = attachment.getName();
+        response.setHeader("Content-Disposition", "inline; filename=\"" + fileName + "\"");
 
-        // ✅ Абсолютный надёжный путь
-        String filePath = "backend/files/" + prefix + "/" + name;
-        File file = new File(filePath);
+        // ✅ Тело отдаёт nginx (X-Accel-Redirect / X-Sendfile), если включено
+        if (downloadOffload.offload(response, file, contentType)) {
+            return;
+        }
 
-        if (!file.exists()) {
+        // ✅ Отправляем (с поддержкой Range)
+        try {
+            if (file != null) {
+                fileRangeStreamer.stream(request, response, file, contentType, etag);
+            } else {
+                fileRangeStreamer.stream(request, response, storage, key, size, contentType, etag);
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            // файл удалён после того, как метаданные попали в кэш
+            metadataCache.evict(id);
+            response.reset();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-            return;
         }
+    }
 
-        // ✅ Определяем MIME-тип и отправляем
-        response.setContentType(Files.probeContentType(file.toPath()));
-        response.setHeader("Content-Disposition", "inline; filename=\"" + file.getName() + "\"");
+    @Override
+    @Transactional
+    public long deleteAttachment(Attachment attachment) {
+        long freed = variantGenerator.deleteVariants(attachment.getId());
+        attachmentRepo.deleteById(attachment.getId());
+        long size = attachment.getSize() != null ? attachment.getSize() : 0;
+        if (attachment.getBlob() != null) {
+            // ✅ Файл удаляется, только когда на него больше никто не ссылается
+            if (blobStore.release(attachment.getBlob().getHash())) {
+                freed += size;
+            }
+        } else {
+            // ✅ Файл удаляется после коммита (FileDeletionWorker)
+            deletionWorker.enqueueLocal(AttachmentBlobStore.legacyPath(attachment));
+            freed += size;
+        }
+        metadataCache.evict(attachment.getId());
+        return freed;
+    }
+
+    @Override
+    public HttpEntity<?> getCacheStats() {
+        return ResponseEntity.ok(metadataCache.stats());
+    }
+
+    private AttachmentMetadataCache.Entry resolve(UUID id) throws IOException {
+        Optional<Attachment> attachmentOptional = attachmentRepo.findById(id);
+        if (attachmentOptional.isEmpty()) {
+            return null;
+        }
+
+        Attachment attachment = attachmentOptional.get();
 
-        try (FileInputStream fis = new FileInputStream(file);
-             OutputStream os = response.getOutputStream()) {
-            FileCopyUtils.copy(fis, os);
-            os.flush();
+        // ✅ Файл в хранилище (blobs/<hash>) или старый файл backend/files/{prefix}/{name}
+        String key = null;
+        Path file;
+        if (attachment.getBlob() != null) {
+            key = AttachmentBlobStore.keyOf(attachment.getBlob().getHash());
+            file = storage.localPath(key).orElse(null);
+            if (file == null ? !storage.exists(key) : !Files.isRegularFile(file)) {
+                return null;
+            }
+        } else {
+            file = AttachmentBlobStore.legacyPath(attachment);
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
         }
 
+        String contentType = attachment.getContentType() != null
+                ? attachment.getContentType()
+                : Files.probeContentType(file);
+        long size = attachment.getSize() != null ? attachment.getSize() : Files.size(file);
+        List<AttachmentMetadataCache.Variant> variants = variantGenerator.supports(contentType)
+                ? variantRepo.findByAttachmentIdOrderByWidthAsc(id).stream()
+                .map(v -> {
+                    String variantKey = ImageVariantGenerator.keyOf(v.getName());
+                    return new AttachmentMetadataCache.Variant(v.getWidth(), variantKey, storage.localPath(variantKey).orElse(null),
+                            v.getName(), v.getContentType(), v.getSize());
+                })
+                .toList()
+                : List.of();
+        return new AttachmentMetadataCache.Entry(key, file, attachment.getName(), contentType, size,
+                etag(attachment), lastModified(attachment), variants, System.currentTimeMillis());
+    }
+
+    /**
+     * Strong validator for an attachment: the content hash when it is known,
+     * otherwise the id itself, since stored content is never replaced.
+     */
+    private static String etag(Attachment attachment) {
+        String value = attachment.getContentHash() != null ? attachment.getContentHash() : attachment.getId().toString();
+        return "\"" + value + "\"";
+    }
+
+    private static String variantEtag(String etag, int width) {
+        return etag.substring(0, etag.length() - 1) + "-w" + width + "\"";
+    }
+
+    private static long lastModified(Attachment attachment) {
+        if (attachment.getCreatedAt() == null) {
+            return -1;
+        }
+        return attachment.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
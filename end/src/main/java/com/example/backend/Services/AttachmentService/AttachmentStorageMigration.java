@@ -0,0 +1,153 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.AttachmentBlob;
+import com.example.backend.Entity.AttachmentVariant;
+import com.example.backend.Repository.AttachmentBlobRepo;
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.AttachmentVariantRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-off move of files written before {@link AttachmentStorage} into the
+ * configured storage. Run the application once with
+ * {@code --attachment.storage.migrate=true}:
+ * <ul>
+ *     <li>flat {@code backend/files/{prefix}/{name}} files become deduplicated blobs;</li>
+ *     <li>flat {@code backend/files/variants/{name}} files move to their sharded key;</li>
+ *     <li>local blobs missing from the storage (switching to S3) are uploaded.</li>
+ * </ul>
+ * Every step skips work that is already done, so it can be re-run after a failure.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "attachment.storage.migrate", havingValue = "true")
+public class AttachmentStorageMigration implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final AttachmentRepo attachmentRepo;
+    private final AttachmentVariantRepo variantRepo;
+    private final AttachmentBlobRepo blobRepo;
+    private final AttachmentBlobStore blobStore;
+    private final AttachmentStorage storage;
+    private final AttachmentMetadataCache metadataCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Attachment storage migration started");
+        migrateLegacyAttachments();
+        migrateLegacyVariants();
+        uploadLocalBlobs();
+        log.info("Attachment storage migration finished");
+    }
+
+    private void migrateLegacyAttachments() {
+        int moved = 0;
+        int missing = 0;
+        UUID lastId = new UUID(0, 0);
+        List<Attachment> batch;
+        do {
+            batch = attachmentRepo.findTop100ByBlobIsNullAndIdGreaterThanOrderByIdAsc(lastId);
+            for (Attachment attachment : batch) {
+                lastId = attachment.getId();
+                Path file = AttachmentBlobStore.legacyPath(attachment);
+                if (!Files.isRegularFile(file)) {
+                    missing++;
+                    continue;
+                }
+                transactionTemplate.executeWithoutResult(status -> toBlob(attachment, file));
+                metadataCache.evict(attachment.getId());
+                moved++;
+            }
+        } while (batch.size() == PAGE_SIZE);
+        log.info("Legacy attachments moved to blobs: {}, files missing: {}", moved, missing);
+    }
+
+    private void toBlob(Attachment attachment, Path file) {
+        try {
+            MessageDigest digest = AttachmentServiceImpl.sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String contentType = attachment.getContentType() != null
+                    ? attachment.getContentType()
+                    : Files.probeContentType(file);
+
+            attachment.setBlob(blobStore.store(file, hash, size, contentType));
+            attachment.setContentHash(hash);
+            attachment.setContentType(contentType);
+            attachment.setSize(size);
+            attachmentRepo.save(attachment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void migrateLegacyVariants() throws IOException {
+        if (!Files.isDirectory(ImageVariantGenerator.LEGACY_VARIANTS_DIR)) {
+            return;
+        }
+        int moved = 0;
+        Page<AttachmentVariant> page;
+        int number = 0;
+        do {
+            page = variantRepo.findAll(PageRequest.of(number++, PAGE_SIZE, Sort.by("id")));
+            for (AttachmentVariant variant : page) {
+                Path file = ImageVariantGenerator.LEGACY_VARIANTS_DIR.resolve(variant.getName());
+                if (Files.isRegularFile(file)) {
+                    storage.put(ImageVariantGenerator.keyOf(variant.getName()), file, variant.getContentType());
+                    metadataCache.evict(variant.getAttachment().getId());
+                    moved++;
+                }
+            }
+        } while (page.hasNext());
+        log.info("Legacy variants moved: {}", moved);
+    }
+
+    private void uploadLocalBlobs() throws IOException {
+        int uploaded = 0;
+        Page<AttachmentBlob> page;
+        int number = 0;
+        do {
+            page = blobRepo.findAll(PageRequest.of(number++, PAGE_SIZE, Sort.by("hash")));
+            for (AttachmentBlob blob : page) {
+                String key = AttachmentBlobStore.keyOf(blob.getHash());
+                Path local = AttachmentBlobStore.LEGACY_DIR.resolve("blobs")
+                        .resolve(blob.getHash().substring(0, 2)).resolve(blob.getHash().substring(2, 4))
+                        .resolve(blob.getHash());
+                if (Files.isRegularFile(local) && !storage.exists(key)) {
+                    storage.put(key, local, blob.getContentType());
+                    uploaded++;
+                }
+            }
+        } while (page.hasNext());
+        log.info("Local blobs uploaded to storage: {}", uploaded);
+    }
+}
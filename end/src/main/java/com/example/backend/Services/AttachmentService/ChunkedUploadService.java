@@ -0,0 +1,17 @@
+package com.example.backend.Services.AttachmentService;
+
+import org.springframework.http.HttpEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface ChunkedUploadService {
+    HttpEntity<?> initiate(String prefix, String fileName, long size) throws IOException;
+
+    HttpEntity<?> writeChunk(UUID id, long offset, InputStream body) throws IOException;
+
+    HttpEntity<?> getStatus(UUID id);
+
+    HttpEntity<?> complete(UUID id) throws IOException;
+}
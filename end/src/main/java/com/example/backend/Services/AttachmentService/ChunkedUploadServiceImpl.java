@@ -0,0 +1,209 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.ChunkedUpload;
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.ChunkedUploadRepo;
+import com.example.backend.exceptions.UploadNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    static final Path UPLOADS_DIR = AttachmentBlobStore.TMP_DIR.resolve("uploads");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ChunkedUploadRepo chunkedUploadRepo;
+    private final AttachmentRepo attachmentRepo;
+    private final AttachmentBlobStore blobStore;
+    private final ImageVariantGenerator variantGenerator;
+    private final Mp4FastStart mp4FastStart;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long maxSize;
+
+    public ChunkedUploadServiceImpl(ChunkedUploadRepo chunkedUploadRepo,
+                                    AttachmentRepo attachmentRepo,
+                                    AttachmentBlobStore blobStore,
+                                    ImageVariantGenerator variantGenerator,
+                                    Mp4FastStart mp4FastStart,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${attachment.upload.chunk-size:8MB}") DataSize chunkSize,
+                                    @Value("${attachment.upload.max-size:2GB}") DataSize maxSize) {
+        this.chunkedUploadRepo = chunkedUploadRepo;
+        this.attachmentRepo = attachmentRepo;
+        this.blobStore = blobStore;
+        this.variantGenerator = variantGenerator;
+        this.mp4FastStart = mp4FastStart;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = (int) chunkSize.toBytes();
+        this.maxSize = maxSize.toBytes();
+    }
+
+    @Override
+    public HttpEntity<?> initiate(String prefix, String fileName, long size) throws IOException {
+        if (size <= 0 || size > maxSize) {
+            return ResponseEntity.badRequest().body("File size must be between 1 and " + maxSize + " bytes");
+        }
+        UUID id = UUID.randomUUID();
+
+        // Файл нужного размера сразу: куски пишутся по своему смещению в любом порядке
+        Files.createDirectories(UPLOADS_DIR);
+        try (FileChannel channel = FileChannel.open(partFile(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), size - 1);
+        }
+
+        ChunkedUpload upload = ChunkedUpload.builder()
+                .id(id)
+                .prefix(prefix)
+                .fileName(fileName)
+                .size(size)
+                .chunkSize(chunkSize)
+                .totalChunks((int) ((size + chunkSize - 1) / chunkSize))
+                .build();
+        chunkedUploadRepo.save(upload);
+        return ResponseEntity.ok(status(upload, List.of()));
+    }
+
+    @Override
+    public HttpEntity<?> writeChunk(UUID id, long offset, InputStream body) throws IOException {
+        ChunkedUpload upload = getUpload(id);
+        if (offset < 0 || offset >= upload.getSize() || offset % upload.getChunkSize() != 0) {
+            return ResponseEntity.badRequest().body("Offset must be a multiple of " + upload.getChunkSize());
+        }
+        int index = (int) (offset / upload.getChunkSize());
+        long expected = Math.min(upload.getChunkSize(), upload.getSize() - offset);
+
+        // ✅ Пишем прямо в итоговый файл по смещению, без промежуточных копий
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(partFile(id), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] array = buffer.array();
+            int read;
+            while ((read = body.read(array, 0, (int) Math.min(array.length, expected - written + 1))) != -1) {
+                if (written + read > expected) {
+                    return ResponseEntity.badRequest().body("Chunk " + index + " must be " + expected + " bytes");
+                }
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, offset + written + buffer.position());
+                }
+                written += read;
+            }
+        }
+        if (written != expected) {
+            return ResponseEntity.badRequest().body("Chunk " + index + " must be " + expected + " bytes, got " + written);
+        }
+
+        chunkedUploadRepo.markReceived(id, index);
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public HttpEntity<?> getStatus(UUID id) {
+        ChunkedUpload upload = getUpload(id);
+        return ResponseEntity.ok(status(upload, chunkedUploadRepo.findReceivedChunks(id)));
+    }
+
+    @Override
+    public HttpEntity<?> complete(UUID id) throws IOException {
+        ChunkedUpload upload = getUpload(id);
+        List<Integer> received = chunkedUploadRepo.findReceivedChunks(id);
+        if (received.size() != upload.getTotalChunks()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(status(upload, received));
+        }
+
+        Path partFile = partFile(id);
+        String contentType = Files.probeContentType(Path.of(upload.getFileName()));
+        // before the first download: the content of an id never changes
+        Mp4FastStart.Result fastStart = mp4FastStart.relocate(partFile, contentType);
+        String hash = fastStart != null ? fastStart.hash() : hash(partFile);
+        long size = fastStart != null ? fastStart.size() : upload.getSize();
+        ImagePlaceholder placeholder = ImagePlaceholder.forUpload(partFile, contentType);
+
+        Attachment attachment = Attachment.builder()
+                .id(id)
+                .prefix(upload.getPrefix())
+                .name(id + "_" + upload.getFileName())
+                .contentType(contentType)
+                .size(size)
+                .contentHash(hash)
+                .build();
+        if (placeholder != null) {
+            placeholder.applyTo(attachment);
+        }
+
+        // the file work above can take minutes for a large video; only the
+        // blob reference, the attachment row and the upload removal hold a connection
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    attachment.setBlob(blobStore.store(partFile, hash, size, contentType));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                attachmentRepo.save(attachment);
+                chunkedUploadRepo.delete(upload);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        variantGenerator.schedule(id, AttachmentBlobStore.keyOf(hash), contentType);
+        return ResponseEntity.ok(id);
+    }
+
+    private ChunkedUpload getUpload(UUID id) {
+        return chunkedUploadRepo.findById(id)
+                .orElseThrow(() -> new UploadNotFoundException(id));
+    }
+
+    private static Map<String, Object> status(ChunkedUpload upload, List<Integer> received) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", upload.getId());
+        status.put("size", upload.getSize());
+        status.put("chunkSize", upload.getChunkSize());
+        status.put("totalChunks", upload.getTotalChunks());
+        status.put("receivedChunks", received);
+        return status;
+    }
+
+    static Path partFile(UUID id) {
+        return UPLOADS_DIR.resolve(id + ".part");
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = AttachmentServiceImpl.sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
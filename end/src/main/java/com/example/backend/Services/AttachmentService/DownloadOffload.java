@@ -0,0 +1,84 @@
+package com.example.backend.Services.AttachmentService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Hands the body of a download over to the web server in front of the app.
+ * The app still resolves the attachment and writes the headers; the file
+ * itself is sent by nginx ({@code X-Accel-Redirect} to an {@code internal}
+ * location aliased to {@link #root}) or Apache/lighttpd ({@code X-Sendfile}),
+ * which also take care of Range requests.
+ * <p>
+ * Only files on local disk under {@link #root} can be offloaded; anything
+ * else (S3, a file outside the root) is streamed by the app as before.
+ * <pre>
+ * location /protected-files/ {
+ *     internal;
+ *     alias /opt/travel-tour/backend/files/;
+ * }
+ * </pre>
+ */
+@Component
+public class DownloadOffload {
+
+    public enum Mode {
+        NONE, X_ACCEL_REDIRECT, X_SENDFILE
+    }
+
+    static final String X_ACCEL_REDIRECT = "X-Accel-Redirect";
+    static final String X_SENDFILE = "X-Sendfile";
+
+    private final Mode mode;
+    private final Path root;
+    private final String internalLocation;
+
+    public DownloadOffload(@Value("${attachment.offload.mode:none}") String mode,
+                           @Value("${attachment.offload.root:${attachment.storage.local.root:backend/files}}") Path root,
+                           @Value("${attachment.offload.internal-location:/protected-files/}") String internalLocation) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.root = root.toAbsolutePath().normalize();
+        this.internalLocation = internalLocation.endsWith("/") ? internalLocation : internalLocation + "/";
+    }
+
+    /**
+     * Sets the offload header for {@code file} instead of writing a body.
+     *
+     * @return {@code false} when the caller has to stream the file itself
+     */
+    public boolean offload(HttpServletResponse response, Path file, String contentType) {
+        if (mode == Mode.NONE || file == null) {
+            return false;
+        }
+        Path absolute = file.toAbsolutePath().normalize();
+        if (!absolute.startsWith(root)) {
+            return false;
+        }
+
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (mode == Mode.X_SENDFILE) {
+            response.setHeader(X_SENDFILE, absolute.toString());
+        } else {
+            StringBuilder uri = new StringBuilder(internalLocation);
+            for (Path segment : root.relativize(absolute)) {
+                if (uri.charAt(uri.length() - 1) != '/') {
+                    uri.append('/');
+                }
+                uri.append(UriUtils.encodePathSegment(segment.toString(), StandardCharsets.UTF_8));
+            }
+            response.setHeader(X_ACCEL_REDIRECT, uri.toString());
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        return true;
+    }
+}
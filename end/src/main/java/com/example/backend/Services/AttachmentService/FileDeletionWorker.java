@@ -0,0 +1,168 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.FileDeletion;
+import com.example.backend.Repository.AttachmentBlobRepo;
+import com.example.backend.Repository.FileDeletionRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for file removal. Deletes only record a row in
+ * {@code file_deletion} inside the caller's transaction, so a rollback
+ * keeps the files and the request never waits for the disk or S3; this
+ * worker removes the files after commit, in batches, retrying failures
+ * with exponential backoff.
+ */
+@Slf4j
+@Component
+public class FileDeletionWorker {
+
+    private final FileDeletionRepo deletionRepo;
+    private final AttachmentBlobRepo blobRepo;
+    private final AttachmentStorage storage;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+
+    public FileDeletionWorker(FileDeletionRepo deletionRepo,
+                              AttachmentBlobRepo blobRepo,
+                              AttachmentStorage storage,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${attachment.deletion.batch-size:50}") int batchSize,
+                              @Value("${attachment.deletion.max-attempts:10}") int maxAttempts,
+                              @Value("${attachment.deletion.retry-delay:30s}") Duration retryDelay,
+                              @Value("${attachment.deletion.max-retry-delay:6h}") Duration maxRetryDelay) {
+        this.deletionRepo = deletionRepo;
+        this.blobRepo = blobRepo;
+        this.storage = storage;
+        this.transactionTemplate = transactionTemplate;
+        this.newTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String storageKey) {
+        deletionRepo.save(FileDeletion.builder()
+                .storageKey(storageKey)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Queues the object for deletion if the caller's transaction rolls back,
+     * which takes the row that would have referenced it along.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueOnRollback(String storageKey) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    newTransaction.executeWithoutResult(s -> enqueue(storageKey));
+                }
+            }
+        });
+    }
+
+    /* files written before AttachmentStorage, outside of it */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueLocal(Path file) {
+        deletionRepo.save(FileDeletion.builder()
+                .localPath(file.toString())
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Drops a pending deletion of a key that is being written again. If the
+     * worker is deleting it at this moment, waits until it is done, so the
+     * caller's write always lands after the delete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancel(String storageKey) {
+        deletionRepo.cancel(storageKey);
+    }
+
+    @Scheduled(fixedDelayString = "${attachment.deletion.interval-ms:5000}")
+    public void process() {
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> processBatch());
+        } while (processed == batchSize);
+    }
+
+    private int processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<FileDeletion> due = deletionRepo.lockDue(now, maxAttempts, batchSize);
+        for (FileDeletion deletion : due) {
+            try {
+                if (deletion.getStorageKey() != null) {
+                    if (stillNeeded(deletion.getStorageKey())) {
+                        deletionRepo.delete(deletion);
+                        continue;
+                    }
+                    storage.delete(deletion.getStorageKey());
+                } else {
+                    Files.deleteIfExists(Path.of(deletion.getLocalPath()));
+                }
+                deletionRepo.delete(deletion);
+            } catch (IOException | RuntimeException e) {
+                retryLater(deletion, now, e);
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * A blob object queued by a rolled back upload may belong to a committed
+     * row, or to a store of the same content that is still running; that
+     * store commits its row or queues the deletion again when it rolls back.
+     */
+    private boolean stillNeeded(String storageKey) {
+        String hash = AttachmentBlobStore.hashOf(storageKey);
+        return hash != null && (!blobRepo.tryLock(hash) || blobRepo.existsById(hash));
+    }
+
+    private void retryLater(FileDeletion deletion, LocalDateTime now, Exception e) {
+        int attempts = deletion.getAttempts() + 1;
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        deletion.setAttempts(attempts);
+        deletion.setNextAttemptAt(now.plus(delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay));
+        String error = String.valueOf(e.getMessage());
+        deletion.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            log.error("Giving up deleting {} after {} attempts", target(deletion), attempts, e);
+        } else {
+            log.warn("Could not delete {} (attempt {}), retrying at {}", target(deletion), attempts,
+                    deletion.getNextAttemptAt(), e);
+        }
+    }
+
+    private static String target(FileDeletion deletion) {
+        return deletion.getStorageKey() != null ? deletion.getStorageKey() : deletion.getLocalPath();
+    }
+}
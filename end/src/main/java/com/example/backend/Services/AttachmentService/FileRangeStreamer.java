@@ -0,0 +1,221 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a file to the servlet response with {@code Range} support.
+ * <p>
+ * When the connector advertises Tomcat's sendfile support, single-part
+ * responses are handed to the connector, which moves the bytes with
+ * {@link FileChannel#transferTo} so they never pass through the heap.
+ * Otherwise the requested regions are copied from a seek position through
+ * one small reusable buffer. Objects without a local file (S3 storage) are
+ * read region by region with ranged reads.
+ */
+@Component
+public class FileRangeStreamer {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * @param etag the entity tag already sent for this file; a {@code Range}
+     *             whose {@code If-Range} validator does not match it is ignored
+     *             and the whole file is sent instead
+     */
+    public void stream(HttpServletRequest request, HttpServletResponse response,
+                       Path file, String contentType, String etag) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            stream(request, response, raf.length(), contentType, etag, file,
+                    (start, count, out, buffer) -> copy(raf, start, count, out, buffer));
+        }
+    }
+
+    /**
+     * Streams an object that has no local file, reading each requested region
+     * from storage as a separate ranged read.
+     */
+    public void stream(HttpServletRequest request, HttpServletResponse response, AttachmentStorage storage,
+                       String key, long length, String contentType, String etag) throws IOException {
+        stream(request, response, length, contentType, etag, null, (start, count, out, buffer) -> {
+            try (InputStream in = storage.open(key, start, count)) {
+                copy(in, count, out, buffer);
+            }
+        });
+    }
+
+    private void stream(HttpServletRequest request, HttpServletResponse response, long length,
+                        String contentType, String etag, Path file, RegionSource source) throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        List<HttpRange> ranges;
+        try {
+            String range = rangeMatches(request, etag) ? request.getHeader(HttpHeaders.RANGE) : null;
+            ranges = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // RFC 9110 §14.2: a Range that does not parse is ignored, the whole file goes out
+            ranges = List.of();
+        }
+
+        List<long[]> regions = toRegions(ranges, length);
+        if (!ranges.isEmpty() && regions.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+
+        boolean head = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        // 200: whole file
+        if (regions.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!head) {
+                send(request, response, source, file, 0, length);
+            }
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        // 206: single range
+        if (regions.size() == 1) {
+            long start = regions.get(0)[0];
+            long count = regions.get(0)[1];
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(start, count, length));
+            response.setContentLengthLong(count);
+            if (!head) {
+                send(request, response, source, file, start, count);
+            }
+            return;
+        }
+
+        // 206: multipart/byteranges
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long total = 0;
+        for (long[] region : regions) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + (contentType != null ? HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n" : "")
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region[0], region[1], length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            total += header.length + region[1];
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        total += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(total);
+        if (head) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int i = 0; i < regions.size(); i++) {
+            out.write(partHeaders.get(i));
+            source.copy(regions.get(i)[0], regions.get(i)[1], out, buffer);
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    /**
+     * @param file local file for sendfile, or {@code null} when the bytes
+     *             have to be copied from {@code source}
+     */
+    private void send(HttpServletRequest request, HttpServletResponse response, RegionSource source,
+                      Path file, long start, long count) throws IOException {
+        if (file != null && count > 0 && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        source.copy(start, count, out, new byte[(int) Math.min(BUFFER_SIZE, Math.max(count, 1))]);
+        out.flush();
+    }
+
+    private static boolean rangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    /**
+     * Resolves parsed ranges into {@code [start, count]} pairs, dropping the
+     * ones that fall outside the file; an empty result for a non-empty
+     * {@code ranges} means the request cannot be satisfied.
+     */
+    private static List<long[]> toRegions(List<HttpRange> ranges, long length) {
+        List<long[]> regions = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            if (length == 0) {
+                break;
+            }
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            if (start < length && end >= start) {
+                regions.add(new long[]{start, end - start + 1});
+            }
+        }
+        return regions;
+    }
+
+    static void copy(RandomAccessFile raf, long position, long count,
+                     OutputStream out, byte[] buffer) throws IOException {
+        raf.seek(position);
+        while (count > 0) {
+            int read = raf.read(buffer, 0, (int) Math.min(buffer.length, count));
+            if (read <= 0) {
+                throw new EOFException("File shrank while streaming at position " + position);
+            }
+            out.write(buffer, 0, read);
+            position += read;
+            count -= read;
+        }
+    }
+
+    private static void copy(InputStream in, long count, OutputStream out, byte[] buffer) throws IOException {
+        while (count > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, count));
+            if (read < 0) {
+                throw new EOFException("Object shrank while streaming, " + count + " bytes missing");
+            }
+            out.write(buffer, 0, read);
+            count -= read;
+        }
+    }
+
+    private static String contentRange(long start, long count, long length) {
+        return "bytes " + start + "-" + (start + count - 1) + "/" + length;
+    }
+
+    @FunctionalInterface
+    private interface RegionSource {
+        void copy(long start, long count, OutputStream out, byte[] buffer) throws IOException;
+    }
+}
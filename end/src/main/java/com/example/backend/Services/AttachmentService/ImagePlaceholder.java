@@ -0,0 +1,204 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Layout metadata the website can render before an image arrives: pixel
+ * size, dominant color and a BlurHash (https://blurha.sh) of about thirty
+ * characters. The image is decoded subsampled to a few dozen pixels, so
+ * this costs milliseconds even for large photos.
+ */
+@Slf4j
+public record ImagePlaceholder(int width, int height, String dominantColor, String blurHash) {
+
+    private static final int SAMPLE_SIZE = 32;
+    private static final int COMPONENTS_X = 4;
+    private static final int COMPONENTS_Y = 3;
+    private static final String BASE83 =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    public void applyTo(Attachment attachment) {
+        attachment.setWidth(width);
+        attachment.setHeight(height);
+        attachment.setDominantColor(dominantColor);
+        attachment.setBlurHash(blurHash);
+    }
+
+    /**
+     * For upload paths: never fails the upload over a broken image.
+     *
+     * @return {@code null} for non-images and images that cannot be decoded
+     */
+    public static ImagePlaceholder forUpload(Path file, String contentType) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return null;
+        }
+        try {
+            return of(file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not compute placeholder for {}", file.getFileName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return {@code null} when the file is not an image ImageIO can read
+     */
+    public static ImagePlaceholder of(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            return of(in);
+        }
+    }
+
+    public static ImagePlaceholder of(InputStream stream) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(stream)) {
+            return of(in);
+        }
+    }
+
+    private static ImagePlaceholder of(ImageInputStream in) throws IOException {
+        if (in == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(in, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+
+            ImageReadParam param = reader.getDefaultReadParam();
+            int step = Math.max(1, Math.min(width, height) / SAMPLE_SIZE);
+            param.setSourceSubsampling(step, step, 0, 0);
+            BufferedImage sample = scale(reader.read(0, param));
+
+            int[] pixels = sample.getRGB(0, 0, sample.getWidth(), sample.getHeight(), null, 0, sample.getWidth());
+            return new ImagePlaceholder(width, height, dominantColor(pixels),
+                    blurHash(pixels, sample.getWidth(), sample.getHeight()));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /* Fits the subsampled image into SAMPLE_SIZE x SAMPLE_SIZE, keeping the aspect ratio */
+    private static BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1.0, (double) SAMPLE_SIZE / Math.max(image.getWidth(), image.getHeight()));
+        int w = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int h = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, 0, 0, w, h, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /**
+     * Mean color of the most common bucket when colors are reduced to 4 bits
+     * per channel, so a large uniform area wins over an average of everything.
+     */
+    private static String dominantColor(int[] pixels) {
+        int[] counts = new int[4096];
+        long[][] sums = new long[4096][3];
+        int best = 0;
+        for (int rgb : pixels) {
+            int r = (rgb >> 16) & 0xff, g = (rgb >> 8) & 0xff, b = rgb & 0xff;
+            int bucket = (r >> 4) << 8 | (g >> 4) << 4 | (b >> 4);
+            counts[bucket]++;
+            sums[bucket][0] += r;
+            sums[bucket][1] += g;
+            sums[bucket][2] += b;
+            if (counts[bucket] > counts[best]) {
+                best = bucket;
+            }
+        }
+        int n = Math.max(1, counts[best]);
+        return String.format("#%02x%02x%02x", sums[best][0] / n, sums[best][1] / n, sums[best][2] / n);
+    }
+
+    private static String blurHash(int[] pixels, int width, int height) {
+        double[][] factors = new double[COMPONENTS_X * COMPONENTS_Y][];
+        for (int j = 0; j < COMPONENTS_Y; j++) {
+            for (int i = 0; i < COMPONENTS_X; i++) {
+                double normalisation = (i == 0 && j == 0) ? 1 : 2;
+                double r = 0, g = 0, b = 0;
+                for (int y = 0; y < height; y++) {
+                    double basisY = Math.cos(Math.PI * j * y / height);
+                    for (int x = 0; x < width; x++) {
+                        double basis = normalisation * Math.cos(Math.PI * i * x / width) * basisY;
+                        int rgb = pixels[y * width + x];
+                        r += basis * toLinear((rgb >> 16) & 0xff);
+                        g += basis * toLinear((rgb >> 8) & 0xff);
+                        b += basis * toLinear(rgb & 0xff);
+                    }
+                }
+                double scale = 1.0 / (width * height);
+                factors[j * COMPONENTS_X + i] = new double[]{r * scale, g * scale, b * scale};
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encode83(hash, (COMPONENTS_X - 1) + (COMPONENTS_Y - 1) * 9, 1);
+
+        double maximum = 0;
+        for (int k = 1; k < factors.length; k++) {
+            for (double value : factors[k]) {
+                maximum = Math.max(maximum, Math.abs(value));
+            }
+        }
+        int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(maximum * 166 - 0.5)));
+        double maximumValue = (quantisedMaximum + 1) / 166.0;
+        encode83(hash, quantisedMaximum, 1);
+
+        double[] dc = factors[0];
+        encode83(hash, (toSrgb(dc[0]) << 16) + (toSrgb(dc[1]) << 8) + toSrgb(dc[2]), 4);
+        for (int k = 1; k < factors.length; k++) {
+            double[] ac = factors[k];
+            encode83(hash, quantiseAc(ac[0], maximumValue) * 19 * 19
+                    + quantiseAc(ac[1], maximumValue) * 19
+                    + quantiseAc(ac[2], maximumValue), 2);
+        }
+        return hash.toString();
+    }
+
+    private static int quantiseAc(double value, double maximumValue) {
+        double v = value / maximumValue;
+        double signPow = Math.copySign(Math.sqrt(Math.abs(v)), v);
+        return (int) Math.max(0, Math.min(18, Math.floor(signPow * 9 + 9.5)));
+    }
+
+    private static void encode83(StringBuilder out, int value, int length) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (int) (value / Math.pow(83, length - i)) % 83;
+            out.append(BASE83.charAt(digit));
+        }
+    }
+
+    private static double toLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int toSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+                ? (int) Math.round(v * 12.92 * 255)
+                : (int) Math.round((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255);
+    }
+}
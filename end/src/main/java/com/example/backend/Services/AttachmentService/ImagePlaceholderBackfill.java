@@ -0,0 +1,95 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Computes {@link ImagePlaceholder} data for images uploaded before it was
+ * recorded. Runs once after startup on the image executor, one page of
+ * attachments at a time; images that cannot be decoded are skipped and
+ * retried on the next start.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "attachment.placeholders.backfill", havingValue = "true", matchIfMissing = true)
+public class ImagePlaceholderBackfill {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final AttachmentRepo attachmentRepo;
+    private final AttachmentStorage storage;
+    private final TaskExecutor executor;
+
+    public ImagePlaceholderBackfill(AttachmentRepo attachmentRepo,
+                                    AttachmentStorage storage,
+                                    @Qualifier("imageTaskExecutor") TaskExecutor executor) {
+        this.attachmentRepo = attachmentRepo;
+        this.storage = storage;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::run);
+    }
+
+    void run() {
+        int updated = 0;
+        int skipped = 0;
+        UUID lastId = new UUID(0, 0);
+        List<Attachment> page;
+        do {
+            page = attachmentRepo.findTop100ByWidthIsNullAndContentTypeStartingWithAndIdGreaterThanOrderByIdAsc("image/", lastId);
+            for (Attachment attachment : page) {
+                lastId = attachment.getId();
+                ImagePlaceholder placeholder = compute(attachment);
+                if (placeholder == null) {
+                    skipped++;
+                    continue;
+                }
+                attachmentRepo.setPlaceholder(attachment.getId(), placeholder.width(), placeholder.height(),
+                        placeholder.dominantColor(), placeholder.blurHash());
+                updated++;
+            }
+        } while (page.size() == PAGE_SIZE);
+        if (updated > 0 || skipped > 0) {
+            log.info("Image placeholders backfilled: {}, skipped: {}", updated, skipped);
+        }
+    }
+
+    private ImagePlaceholder compute(Attachment attachment) {
+        try {
+            if (attachment.getBlob() == null) {
+                Path legacy = AttachmentBlobStore.legacyPath(attachment);
+                return Files.isRegularFile(legacy) ? ImagePlaceholder.of(legacy) : null;
+            }
+            String key = AttachmentBlobStore.keyOf(attachment.getBlob().getHash());
+            Optional<Path> local = storage.localPath(key);
+            if (local.isPresent()) {
+                return Files.isRegularFile(local.get()) ? ImagePlaceholder.of(local.get()) : null;
+            }
+            try (InputStream in = storage.open(key)) {
+                return ImagePlaceholder.of(in);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not compute placeholder for attachment {}", attachment.getId(), e);
+            return null;
+        }
+    }
+}
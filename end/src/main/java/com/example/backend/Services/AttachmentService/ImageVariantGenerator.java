@@ -0,0 +1,199 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.AttachmentVariant;
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.AttachmentVariantRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Produces resized JPEG/PNG copies of uploaded images on a bounded executor,
+ * so listing pages can ask for {@code getFile/{id}?w=} instead of the original.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    /* Flat directory used before AttachmentStorage; read only by the storage migration */
+    static final Path LEGACY_VARIANTS_DIR = Path.of("backend/files/variants");
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/bmp");
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final AttachmentRepo attachmentRepo;
+    private final AttachmentVariantRepo variantRepo;
+    private final AttachmentMetadataCache metadataCache;
+    private final AttachmentStorage storage;
+    private final FileDeletionWorker deletionWorker;
+    private final TaskExecutor executor;
+    private final List<Integer> widths;
+
+    public ImageVariantGenerator(AttachmentRepo attachmentRepo,
+                                 AttachmentVariantRepo variantRepo,
+                                 AttachmentMetadataCache metadataCache,
+                                 AttachmentStorage storage,
+                                 FileDeletionWorker deletionWorker,
+                                 @Qualifier("imageTaskExecutor") TaskExecutor executor,
+                                 @Value("${attachment.variants.widths:320,768,1600}") List<Integer> widths) {
+        this.attachmentRepo = attachmentRepo;
+        this.variantRepo = variantRepo;
+        this.metadataCache = metadataCache;
+        this.storage = storage;
+        this.deletionWorker = deletionWorker;
+        this.executor = executor;
+        this.widths = widths.stream().sorted().toList();
+    }
+
+    public static String keyOf(String name) {
+        return "variants/" + name;
+    }
+
+    public boolean supports(String contentType) {
+        return contentType != null && SUPPORTED_TYPES.contains(contentType);
+    }
+
+    /**
+     * Queues variant generation and returns immediately. Inside a transaction
+     * the task is queued after commit, once the attachment row is visible.
+     */
+    public void schedule(UUID attachmentId, String originalKey, String contentType) {
+        if (!supports(contentType)) {
+            return;
+        }
+        Runnable task = () -> {
+            try {
+                generate(attachmentId, originalKey, contentType);
+            } catch (Exception e) {
+                log.warn("Could not build variants for attachment {}", attachmentId, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(task);
+                }
+            });
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    void generate(UUID attachmentId, String originalKey, String contentType) throws IOException {
+        BufferedImage source;
+        try (InputStream in = storage.open(originalKey)) {
+            source = ImageIO.read(in);
+        }
+        if (source == null) {
+            return;
+        }
+
+        boolean png = !"image/jpeg".equals(contentType) && source.getColorModel().hasAlpha();
+        String format = png ? "png" : "jpeg";
+        Attachment attachment = attachmentRepo.getReferenceById(attachmentId);
+        Files.createDirectories(AttachmentBlobStore.TMP_DIR);
+
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                break;
+            }
+            int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+            BufferedImage resized = resize(source, width, height, png);
+
+            String name = attachmentId + "_" + width + (png ? ".png" : ".jpg");
+            Path target = AttachmentBlobStore.TMP_DIR.resolve(name);
+            write(resized, format, target);
+            long size = Files.size(target);
+            String variantType = png ? "image/png" : "image/jpeg";
+            storage.put(keyOf(name), target, variantType);
+
+            variantRepo.save(AttachmentVariant.builder()
+                    .attachment(attachment)
+                    .width(width)
+                    .height(height)
+                    .name(name)
+                    .contentType(variantType)
+                    .size(size)
+                    .build());
+        }
+        // the cached entry was built before the variants existed
+        metadataCache.evict(attachmentId);
+    }
+
+    /**
+     * Removes the variant rows of an attachment that is about to be deleted;
+     * the files go once the transaction commits.
+     *
+     * @return bytes freed
+     */
+    public long deleteVariants(UUID attachmentId) {
+        List<AttachmentVariant> variants = variantRepo.findByAttachmentIdOrderByWidthAsc(attachmentId);
+        for (AttachmentVariant variant : variants) {
+            deletionWorker.enqueue(keyOf(variant.getName()));
+        }
+        variantRepo.deleteAll(variants);
+        return variants.stream().mapToLong(variant -> variant.getSize() != null ? variant.getSize() : 0).sum();
+    }
+
+    /**
+     * Halves the image step by step before the final bilinear pass, which keeps
+     * detail that a single large bilinear step would alias away.
+     */
+    private static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.exceptions.FastStartBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves the {@code moov} atom of uploaded MP4 videos in front of the media
+ * data ("fast start"), so browsers can begin playback after the first few
+ * hundred kilobytes instead of fetching the index from the end of the file.
+ * <p>
+ * Runs during the upload, before the file is hashed into its blob: the bytes
+ * behind an attachment id are served as immutable and never change later.
+ * The rewrite runs on the uploading thread, at most a few at a time so that
+ * multi-gigabyte videos cannot saturate the disk. Further uploads wait for a
+ * slot; one that waits too long fails with {@link FastStartBusyException}
+ * rather than being stored without fast start for good. The media data is
+ * copied through a small buffer, only {@code moov} is held in memory.
+ */
+@Slf4j
+@Component
+public class Mp4FastStart {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("video/mp4");
+
+    /* Atoms on the way from moov to the chunk offset tables */
+    private static final Set<String> CONTAINERS = Set.of("moov", "trak", "mdia", "minf", "stbl");
+
+    /* A larger moov is not a normal upload; leave such files alone */
+    private static final long MAX_MOOV_SIZE = 64L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private record Atom(String type, long start, long size) {
+        long end() {
+            return start + size;
+        }
+    }
+
+    /* content of the rewritten file */
+    public record Result(String hash, long size) {
+    }
+
+    private final Semaphore slots;
+    private final Duration maxWait;
+
+    public Mp4FastStart(@Value("${attachment.faststart.concurrency:1}") int concurrency,
+                        @Value("${attachment.faststart.max-wait:10m}") Duration maxWait) {
+        this.slots = new Semaphore(concurrency, true);
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Rewrites {@code file} in place, waiting for a free slot first.
+     *
+     * @return hash and size of the rewritten file, or {@code null} when it is
+     * left as it is: not an MP4, already fast-start, a layout this does not
+     * handle, or the rewrite failed (the file is then untouched)
+     * @throws FastStartBusyException when no slot frees up within the wait
+     */
+    public Result relocate(Path file, String contentType) {
+        if (contentType == null || !SUPPORTED_TYPES.contains(contentType)) {
+            return null;
+        }
+        acquireSlot(file);
+        try {
+            return rewriteInPlace(file);
+        } catch (IOException e) {
+            log.warn("Could not move moov to the front of {}", file.getFileName(), e);
+            return null;
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void acquireSlot(Path file) {
+        try {
+            if (slots.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("No fast-start slot within {}, rejecting {}", maxWait, file.getFileName());
+        throw new FastStartBusyException();
+    }
+
+    private static Result rewriteInPlace(Path file) throws IOException {
+        Path rewritten = file.resolveSibling(file.getFileName() + ".faststart");
+        try {
+            MessageDigest digest = AttachmentServiceImpl.sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(rewritten), BUFFER_SIZE), digest)) {
+                size = rewrite(file, out);
+            }
+            if (size < 0) {
+                return null;
+            }
+            Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new Result(HexFormat.of().formatHex(digest.digest()), size);
+        } finally {
+            try {
+                Files.deleteIfExists(rewritten);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", rewritten, e);
+            }
+        }
+    }
+
+    /**
+     * Writes {@code source} with {@code moov} moved right after {@code ftyp}
+     * and every chunk offset before the old {@code moov} position shifted by
+     * its size.
+     *
+     * @return bytes written, or {@code -1} (nothing written) when the file is
+     * already fast-start or not a layout this handles
+     */
+    static long rewrite(Path source, OutputStream out) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = in.size();
+            Atom ftyp = null;
+            Atom moov = null;
+            boolean mediaBeforeMoov = false;
+            long position = 0;
+            while (position < length) {
+                Atom atom = readHeader(in, position, length);
+                if (atom == null) {
+                    return -1;
+                }
+                switch (atom.type()) {
+                    case "ftyp" -> {
+                        if (atom.start() != 0) {
+                            return -1;
+                        }
+                        ftyp = atom;
+                    }
+                    case "moov" -> moov = atom;
+                    case "mdat" -> mediaBeforeMoov |= moov == null;
+                    case "moof" -> {
+                        return -1;
+                    }
+                    default -> {
+                    }
+                }
+                position = atom.end();
+            }
+            if (moov == null || !mediaBeforeMoov || moov.size() > MAX_MOOV_SIZE) {
+                return -1;
+            }
+
+            ByteBuffer moovData = ByteBuffer.allocate((int) moov.size());
+            readFully(in, moovData, moov.start());
+            if (!patchOffsets(moovData, 0, moovData.limit(), moov.start(), moov.size())) {
+                return -1;
+            }
+
+            long head = ftyp != null ? ftyp.end() : 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            copy(in, 0, head, out, buffer);
+            out.write(moovData.array());
+            copy(in, head, moov.start() - head, out, buffer);
+            copy(in, moov.end(), length - moov.end(), out, buffer);
+            return length;
+        }
+    }
+
+    private static Atom readHeader(FileChannel in, long position, long length) throws IOException {
+        if (length - position < 8) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(16);
+        header.limit(8);
+        readFully(in, header, position);
+        long size = Integer.toUnsignedLong(header.getInt(0));
+        String type = new String(header.array(), 4, 4, StandardCharsets.ISO_8859_1);
+        if (size == 1) {
+            if (length - position < 16) {
+                return null;
+            }
+            header.limit(16).position(8);
+            readFully(in, header, position + 8);
+            size = header.getLong(8);
+        } else if (size == 0) {
+            size = length - position;
+        }
+        if (size < 8 || position + size > length) {
+            return null;
+        }
+        return new Atom(type, position, size);
+    }
+
+    /**
+     * Walks the container atoms between {@code start} and {@code end} of
+     * {@code moov} and shifts the {@code stco}/{@code co64} entries that
+     * point before the old {@code moov} position.
+     *
+     * @return {@code false} when an offset would no longer fit in {@code stco}
+     */
+    private static boolean patchOffsets(ByteBuffer moov, int start, int end, long moovStart, long shift) {
+        int position = start;
+        while (position + 8 <= end) {
+            long size = Integer.toUnsignedLong(moov.getInt(position));
+            String type = new String(moov.array(), position + 4, 4, StandardCharsets.ISO_8859_1);
+            int header = 8;
+            if (size == 1) {
+                size = moov.getLong(position + 8);
+                header = 16;
+            } else if (size == 0) {
+                size = end - position;
+            }
+            if (size < header || position + size > end) {
+                return false;
+            }
+            int body = position + header;
+            int atomEnd = (int) (position + size);
+            switch (type) {
+                case "stco" -> {
+                    int count = moov.getInt(body + 4);
+                    if (count < 0 || body + 8 + (long) count * 4 > atomEnd) {
+                        return false;
+                    }
+                    for (int i = 0; i < count; i++) {
+                        int at = body + 8 + i * 4;
+                        long offset = Integer.toUnsignedLong(moov.getInt(at));
+                        if (offset < moovStart) {
+                            offset += shift;
+                            if (offset > 0xFFFFFFFFL) {
+                                return false;
+                            }
+                            moov.putInt(at, (int) offset);
+                        }
+                    }
+                }
+                case "co64" -> {
+                    int count = moov.getInt(body + 4);
+                    if (count < 0 || body + 8 + (long) count * 8 > atomEnd) {
+                        return false;
+                    }
+                    for (int i = 0; i < count; i++) {
+                        int at = body + 8 + i * 8;
+                        long offset = moov.getLong(at);
+                        if (offset < moovStart) {
+                            moov.putLong(at, offset + shift);
+                        }
+                    }
+                }
+                default -> {
+                    if (CONTAINERS.contains(type) && !patchOffsets(moov, body, atomEnd, moovStart, shift)) {
+                        return false;
+                    }
+                }
+            }
+            position = atomEnd;
+        }
+        return true;
+    }
+
+    private static void copy(FileChannel in, long start, long count, OutputStream out, byte[] buffer) throws IOException {
+        ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+        long position = start;
+        long remaining = count;
+        while (remaining > 0) {
+            wrapper.clear().limit((int) Math.min(buffer.length, remaining));
+            int read = in.read(wrapper, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file at " + position);
+            }
+            out.write(buffer, 0, read);
+            position += read;
+            remaining -= read;
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, at);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file at " + at);
+            }
+            at += read;
+        }
+    }
+}
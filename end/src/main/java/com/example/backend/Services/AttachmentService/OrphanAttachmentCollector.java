@@ -0,0 +1,215 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.AttachmentBlob;
+import com.example.backend.Entity.AttachmentVariant;
+import com.example.backend.Entity.ChunkedUpload;
+import com.example.backend.Repository.AttachmentBlobRepo;
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.AttachmentVariantRepo;
+import com.example.backend.Repository.ChunkedUploadRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes attachments nothing points at any more: photos replaced in News or
+ * TravelTour updates, old partner logos, uploads never attached to anything,
+ * and chunked uploads never completed.
+ * <p>
+ * Walks the attachment table in id order, one page at a time with a pause in
+ * between, and only touches rows older than the grace period so an upload
+ * that is about to be attached is never collected. Each row is re-checked in
+ * the deleting transaction; a row that still fails to delete is logged and
+ * skipped. Abandoned chunked uploads are walked the same way, so a dry run
+ * reports all of them.
+ */
+@Slf4j
+@Component
+public class OrphanAttachmentCollector {
+
+    public record Report(boolean dryRun, int attachments, int abandonedUploads, long bytesReclaimed,
+                         boolean limitReached, long durationMillis) {
+    }
+
+    private final AttachmentRepo attachmentRepo;
+    private final AttachmentBlobRepo blobRepo;
+    private final AttachmentVariantRepo variantRepo;
+    private final ChunkedUploadRepo chunkedUploadRepo;
+    private final AttachmentService attachmentService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final boolean defaultDryRun;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxDeletes;
+    private final List<String> keepPrefixes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OrphanAttachmentCollector(AttachmentRepo attachmentRepo,
+                                     AttachmentBlobRepo blobRepo,
+                                     AttachmentVariantRepo variantRepo,
+                                     ChunkedUploadRepo chunkedUploadRepo,
+                                     AttachmentService attachmentService,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${attachment.gc.enabled:true}") boolean enabled,
+                                     @Value("${attachment.gc.dry-run:true}") boolean defaultDryRun,
+                                     @Value("${attachment.gc.grace-period:P1D}") Duration gracePeriod,
+                                     @Value("${attachment.gc.batch-size:100}") int batchSize,
+                                     @Value("${attachment.gc.pause:PT1S}") Duration pause,
+                                     @Value("${attachment.gc.max-deletes:1000}") int maxDeletes,
+                                     @Value("${attachment.gc.keep-prefixes:chat}") List<String> keepPrefixes) {
+        this.attachmentRepo = attachmentRepo;
+        this.blobRepo = blobRepo;
+        this.variantRepo = variantRepo;
+        this.chunkedUploadRepo = chunkedUploadRepo;
+        this.attachmentService = attachmentService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.defaultDryRun = defaultDryRun;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxDeletes = maxDeletes;
+        // "not in ()" is invalid SQL, so there is always at least one entry
+        this.keepPrefixes = keepPrefixes.isEmpty() ? List.of("") : keepPrefixes;
+    }
+
+    @Scheduled(cron = "${attachment.gc.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run(defaultDryRun);
+        }
+    }
+
+    public Report run(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Attachment cleanup is already running");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            LocalDateTime createdBefore = LocalDateTime.now().minus(gracePeriod);
+
+            int attachments = 0;
+            long bytes = 0;
+            UUID afterId = new UUID(0, 0);
+            List<Attachment> page;
+            do {
+                page = attachmentRepo.findOrphans(afterId, createdBefore, keepPrefixes, PageRequest.of(0, batchSize));
+                for (Attachment attachment : page) {
+                    afterId = attachment.getId();
+                    if (attachments >= maxDeletes) {
+                        break;
+                    }
+                    Long freed;
+                    try {
+                        freed = dryRun ? reclaimable(attachment) : transactionTemplate.execute(status ->
+                                attachmentRepo.isReferenced(attachment.getId()) ? null : attachmentService.deleteAttachment(attachment));
+                    } catch (RuntimeException e) {
+                        // e.g. a reference added since the check; the next run looks at it again
+                        log.warn("Could not delete attachment {}, skipped", attachment.getId(), e);
+                        continue;
+                    }
+                    if (freed != null) {
+                        attachments++;
+                        bytes += freed;
+                    }
+                }
+                pause(page.size());
+            } while (page.size() == batchSize && attachments < maxDeletes);
+
+            int uploads = 0;
+            UUID afterUploadId = new UUID(0, 0);
+            List<ChunkedUpload> abandoned;
+            do {
+                abandoned = chunkedUploadRepo.findTop100ByCreatedAtBeforeAndIdGreaterThanOrderByIdAsc(createdBefore, afterUploadId);
+                for (ChunkedUpload upload : abandoned) {
+                    afterUploadId = upload.getId();
+                    Path part = ChunkedUploadServiceImpl.partFile(upload.getId());
+                    long partSize = size(part);
+                    if (!dryRun) {
+                        try {
+                            chunkedUploadRepo.delete(upload);
+                        } catch (RuntimeException e) {
+                            log.warn("Could not delete chunked upload {}, skipped", upload.getId(), e);
+                            continue;
+                        }
+                        deleteQuietly(part);
+                    }
+                    bytes += partSize;
+                    uploads++;
+                }
+            } while (abandoned.size() == 100);
+
+            Report report = new Report(dryRun, attachments, uploads, bytes,
+                    attachments >= maxDeletes, System.currentTimeMillis() - started);
+            log.info("Attachment cleanup finished: {}", report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * What deleting the attachment would free: its variants, plus the file
+     * itself unless another attachment shares the blob. A lower bound, since
+     * a blob shared only by orphans is freed too.
+     */
+    private long reclaimable(Attachment attachment) {
+        long bytes = variantRepo.findByAttachmentIdOrderByWidthAsc(attachment.getId()).stream()
+                .map(AttachmentVariant::getSize)
+                .filter(size -> size != null)
+                .mapToLong(Long::longValue)
+                .sum();
+        if (attachment.getBlob() == null) {
+            return bytes + size(AttachmentBlobStore.legacyPath(attachment));
+        }
+        AttachmentBlob blob = blobRepo.findById(attachment.getBlob().getHash()).orElse(null);
+        if (blob != null && blob.getRefCount() <= 1) {
+            bytes += blob.getSize();
+        }
+        return bytes;
+    }
+
+    private void pause(int processed) {
+        if (processed == 0 || pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+}
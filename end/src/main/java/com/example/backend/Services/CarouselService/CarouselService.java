@@ -1,10 +1,15 @@
 package com.example.backend.Services.CarouselService;
 
 import com.example.backend.DTO.CarouselDto;
+import com.example.backend.DTO.CarouselWebsiteDto;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.Entity.Carousel;
+import com.example.backend.Enums.Language;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 
+import java.util.List;
+
 public interface CarouselService {
 
     HttpEntity<?> create(CarouselDto dto);
@@ -18,4 +23,8 @@ public interface CarouselService {
     HttpEntity<?> getAll();
 
     Page<Carousel> getPage(int page, int size);
+
+    List<CarouselWebsiteDto> getForWebsite(Language language);
+
+    CursorSlice<Carousel> scroll(String cursor, int size, boolean count);
 }
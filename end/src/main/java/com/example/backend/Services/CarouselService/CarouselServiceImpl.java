@@ -1,30 +1,40 @@
 package com.example.backend.Services.CarouselService;
 
 import com.example.backend.DTO.CarouselDto;
+import com.example.backend.DTO.CarouselWebsiteDto;
+import com.example.backend.DTO.Cursor;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.Entity.Attachment;
 import com.example.backend.Entity.Carousel;
-import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.CarouselRepo;
+import com.example.backend.Services.AttachmentService.AttachmentResolver;
+import com.example.backend.Services.AttachmentService.AttachmentService;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CarouselServiceImpl implements CarouselService {
 
     private final CarouselRepo carouselRepository;
-    private final AttachmentRepo attachmentRepo;
+    private final AttachmentResolver attachmentResolver;
+    private final AttachmentService attachmentService;
+    private final ContentVersions contentVersions;
 
     @Override
     public HttpEntity<?> create(CarouselDto dto) {
 
-        Attachment media = attachmentRepo.findById(dto.getMediaId())
-                .orElseThrow(() -> new RuntimeException("Media not found"));
+        Attachment media = attachmentResolver.resolve(dto.getMediaId());
 
         Carousel carousel = Carousel.builder()
                 .media(media)
@@ -38,7 +48,9 @@ public class CarouselServiceImpl implements CarouselService {
                 .description_turk(dto.getDescription_turk())
                 .build();
 
-        return ResponseEntity.ok(carouselRepository.save(carousel));
+        Carousel saved = carouselRepository.save(carousel);
+        contentVersions.bump(ContentAggregate.CAROUSEL);
+        return ResponseEntity.ok(saved);
     }
 
     @Override
@@ -47,8 +59,7 @@ public class CarouselServiceImpl implements CarouselService {
         Carousel Carousel = getById(id);
 
         if (dto.getMediaId() != null) {
-            Attachment media = attachmentRepo.findById(dto.getMediaId())
-                    .orElseThrow(() -> new RuntimeException("Media not found"));
+            Attachment media = attachmentResolver.resolve(dto.getMediaId());
             Carousel.setMedia(media);
         }
 
@@ -62,16 +73,20 @@ public class CarouselServiceImpl implements CarouselService {
         Carousel.setDescription_en(dto.getDescription_en());
         Carousel.setDescription_turk(dto.getDescription_turk());
 
-        return ResponseEntity.ok(carouselRepository.save(Carousel));
+        Carousel saved = carouselRepository.save(Carousel);
+        contentVersions.bump(ContentAggregate.CAROUSEL);
+        return ResponseEntity.ok(saved);
     }
 
     @Override
+    @Transactional
     public HttpEntity<?> delete(Integer id) {
 
         Carousel Carousel = getById(id);
         carouselRepository.delete(Carousel);
+        contentVersions.bump(ContentAggregate.CAROUSEL);
         if (Carousel.getMedia() != null) {
-            deleteAttachment(Carousel.getMedia());
+            attachmentService.deleteAttachment(Carousel.getMedia());
         }
 
 
@@ -100,16 +115,19 @@ public class CarouselServiceImpl implements CarouselService {
         return carouselRepository.findAll(pageable);
     }
 
-    private void deleteAttachment(Attachment attachment) {
-        File file = new File("backend/files"
-                + attachment.getPrefix()
-                + "/"
-                + attachment.getName());
-
-        if (file.exists()) {
-            file.delete();
-        }
+    @Override
+    public List<CarouselWebsiteDto> getForWebsite(Language language) {
+        return carouselRepository.findWebsiteAll(language.code());
+    }
 
-        attachmentRepo.deleteById(attachment.getId());
+    /* ================= SCROLL (KEYSET) ================= */
+    @Override
+    public CursorSlice<Carousel> scroll(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                carouselRepository.findScroll(after.createdAt(), after.id(), PageRequest.of(0, size)),
+                carousel -> Cursor.after(carousel.getCreatedAt(), carousel.getId()),
+                count ? carouselRepository.count() : null
+        );
     }
 }
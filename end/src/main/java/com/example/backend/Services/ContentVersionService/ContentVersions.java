@@ -0,0 +1,52 @@
+package com.example.backend.Services.ContentVersionService;
+
+import com.example.backend.Enums.ContentAggregate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One counter per {@link ContentAggregate}, bumped by the services on every
+ * create, update and delete. The public GET endpoints derive their ETags from
+ * it (see {@code Config.ContentVersionInterceptor}), so an unchanged list is
+ * answered with 304 without touching the database.
+ * <p>
+ * Counters live in memory and restart at 0, so each version carries the start
+ * time of this process: an ETag from before a restart never matches again.
+ * Changes made outside these services (SQL, another instance) are not seen.
+ */
+@Component
+public class ContentVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<ContentAggregate, AtomicLong> counters = new EnumMap<>(ContentAggregate.class);
+
+    public ContentVersions() {
+        for (ContentAggregate aggregate : ContentAggregate.values()) {
+            counters.put(aggregate, new AtomicLong());
+        }
+    }
+
+    public String current(ContentAggregate aggregate) {
+        return epoch + "." + counters.get(aggregate).get();
+    }
+
+    /* After commit: a reader must not cache the old rows under the new version */
+    public void bump(ContentAggregate aggregate) {
+        AtomicLong counter = counters.get(aggregate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.incrementAndGet();
+                }
+            });
+        } else {
+            counter.incrementAndGet();
+        }
+    }
+}
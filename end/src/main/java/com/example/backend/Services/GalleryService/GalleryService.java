@@ -1,7 +1,10 @@
 package com.example.backend.Services.GalleryService;
 
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.GalleryDto;
+import com.example.backend.DTO.GalleryWebsiteDto;
 import com.example.backend.Entity.Gallery;
+import com.example.backend.Enums.Language;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 
@@ -21,4 +24,12 @@ public interface GalleryService {
     HttpEntity<?> getAll();
 
     Page<Gallery> getPage(int page, int size);
+
+    Page<GalleryWebsiteDto> getForWebsite(int page, int size, Language language);
+
+    List<GalleryWebsiteDto> getByTravelTourIdForWebsite(Integer id, Language language);
+
+    CursorSlice<Gallery> scroll(String cursor, int size, boolean count);
+
+    CursorSlice<GalleryWebsiteDto> scrollForWebsite(String cursor, int size, boolean count, Language language);
 }
@@ -1,19 +1,27 @@
 package com.example.backend.Services.GalleryService;
 
+import com.example.backend.DTO.Cursor;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.GalleryDto;
+import com.example.backend.DTO.GalleryWebsiteDto;
 import com.example.backend.Entity.Attachment;
 import com.example.backend.Entity.Gallery;
 import com.example.backend.Entity.TravelTour;
-import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.GalleryRepo;
 import com.example.backend.Repository.TravelTourRepo;
+import com.example.backend.Services.AttachmentService.AttachmentResolver;
+import com.example.backend.Services.AttachmentService.AttachmentService;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,14 +30,15 @@ import java.util.Optional;
 public class GalleryServiceImpl implements GalleryService {
 
     private final GalleryRepo galleryRepo;
-    private final AttachmentRepo attachmentRepo;
+    private final AttachmentResolver attachmentResolver;
+    private final AttachmentService attachmentService;
     private final TravelTourRepo travelTourRepo;
+    private final ContentVersions contentVersions;
 
     @Override
     public HttpEntity<?> create(GalleryDto dto) {
 
-        Attachment media = attachmentRepo.findById(dto.getMediaId())
-                .orElseThrow(() -> new RuntimeException("Media not found"));
+        Attachment media = attachmentResolver.resolve(dto.getMediaId());
         Optional<TravelTour> optionalTravelTour= travelTourRepo.findById(dto.getTravelTourId());
         if(optionalTravelTour.isEmpty()){
             throw new RuntimeException("TravelTour not found");
@@ -44,7 +53,9 @@ public class GalleryServiceImpl implements GalleryService {
                 .travelTour(travelTour)
                 .build();
 
-        return ResponseEntity.ok(galleryRepo.save(gallery));
+        Gallery saved = galleryRepo.save(gallery);
+        contentVersions.bump(ContentAggregate.GALLERY);
+        return ResponseEntity.ok(saved);
     }
 
     @Override
@@ -57,8 +68,7 @@ public class GalleryServiceImpl implements GalleryService {
         }
         TravelTour travelTour = optionalTravelTour.get();
         if (dto.getMediaId() != null) {
-            Attachment media = attachmentRepo.findById(dto.getMediaId())
-                    .orElseThrow(() -> new RuntimeException("Media not found"));
+            Attachment media = attachmentResolver.resolve(dto.getMediaId());
             gallery.setMedia(media);
         }
         gallery.setTravelTour(travelTour);
@@ -68,16 +78,20 @@ public class GalleryServiceImpl implements GalleryService {
         gallery.setDescription_turk(dto.getDescription_turk());
 
 
-        return ResponseEntity.ok(galleryRepo.save(gallery));
+        Gallery saved = galleryRepo.save(gallery);
+        contentVersions.bump(ContentAggregate.GALLERY);
+        return ResponseEntity.ok(saved);
     }
 
     @Override
+    @Transactional
     public HttpEntity<?> delete(Integer id) {
 
         Gallery gallery = getById(id);
         galleryRepo.deleteById(gallery.getId());
+        contentVersions.bump(ContentAggregate.GALLERY);
         if (gallery.getMedia() != null) {
-            deleteAttachment(gallery.getMedia());
+            attachmentService.deleteAttachment(gallery.getMedia());
         }
         return ResponseEntity.ok().build();
     }
@@ -106,9 +120,34 @@ public class GalleryServiceImpl implements GalleryService {
         return galleryRepo.findAll(pageable);
     }
 
-    private void deleteAttachment(Attachment attachment) {
-        File file = new File("backend/files" + attachment.getPrefix() + "/" + attachment.getName());
-        if (file.exists()) file.delete();
-        attachmentRepo.deleteById(attachment.getId());
+    @Override
+    public Page<GalleryWebsiteDto> getForWebsite(int page, int size, Language language) {
+        return galleryRepo.findWebsitePage(language.code(), PageRequest.of(page, size));
+    }
+
+    @Override
+    public List<GalleryWebsiteDto> getByTravelTourIdForWebsite(Integer id, Language language) {
+        return galleryRepo.findWebsiteByTravelTourId(id, language.code());
+    }
+
+    /* ================= SCROLL (KEYSET) ================= */
+    @Override
+    public CursorSlice<Gallery> scroll(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                galleryRepo.findScroll(after.createdAt(), after.id(), PageRequest.of(0, size)),
+                gallery -> Cursor.after(gallery.getCreatedAt(), gallery.getId()),
+                count ? galleryRepo.count() : null
+        );
+    }
+
+    @Override
+    public CursorSlice<GalleryWebsiteDto> scrollForWebsite(String cursor, int size, boolean count, Language language) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                galleryRepo.findWebsiteScroll(language.code(), after.createdAt(), after.id(), PageRequest.of(0, size)),
+                gallery -> Cursor.after(gallery.getCreatedAt(), gallery.getId()),
+                count ? galleryRepo.count() : null
+        );
     }
 }
@@ -1,7 +1,10 @@
 package com.example.backend.Services.NewsService;
 
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.NewsDto;
+import com.example.backend.DTO.NewsWebsiteDto;
 import com.example.backend.Entity.News;
+import com.example.backend.Enums.Language;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 
@@ -12,4 +15,11 @@ public interface NewsService {
     HttpEntity<?> deleteNews(Integer id);
     Page<News> getNewsPage(int page, int size);
     HttpEntity<?> updateNews(Integer id, NewsDto newsDto);
+
+    Page<NewsWebsiteDto> getNewsPageForWebsite(int page, int size, Language language);
+    NewsWebsiteDto getNewsForWebsite(Integer id, Language language);
+
+    CursorSlice<News> scrollNews(String cursor, int size, boolean count);
+
+    CursorSlice<NewsWebsiteDto> scrollNewsForWebsite(String cursor, int size, boolean count, Language language);
 }
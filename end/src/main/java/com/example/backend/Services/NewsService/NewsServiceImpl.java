@@ -1,22 +1,34 @@
 package com.example.backend.Services.NewsService;
 
+import com.example.backend.DTO.Cursor;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.NewsDto;
+import com.example.backend.DTO.NewsWebsiteDto;
 import com.example.backend.Entity.Attachment;
 import com.example.backend.Entity.News;
-import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.NewsRepo;
+import com.example.backend.Services.AttachmentService.AttachmentResolver;
+import com.example.backend.Services.AttachmentService.AttachmentService;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Pageable;
 
-import java.io.File;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,7 +36,9 @@ import java.util.stream.Collectors;
 public class NewsServiceImpl implements NewsService {
 
     private final NewsRepo newsRepo;
-    private final AttachmentRepo attachmentRepo;
+    private final AttachmentResolver attachmentResolver;
+    private final AttachmentService attachmentService;
+    private final ContentVersions contentVersions;
     @Override
     public Page<News> getNewsPage(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
@@ -32,14 +46,17 @@ public class NewsServiceImpl implements NewsService {
     }
 
     @Override
+    @Transactional
     public HttpEntity<?> addNews(NewsDto news) {
 
-        Attachment mainPhoto = attachmentRepo.findById(news.getMainPhoto())
-                .orElseThrow(() -> new RuntimeException("Main photo not found"));
+        if (news.getMainPhoto() == null) {
+            throw new RuntimeException("Main photo not found");
+        }
+        Map<UUID, Attachment> attachments = loadAttachments(news);
+        Attachment mainPhoto = attachments.get(news.getMainPhoto());
 
         List<Attachment> photos = news.getPhotos().stream()
-                .map(id -> attachmentRepo.findById(id)
-                        .orElseThrow(() -> new RuntimeException("Photo not found")))
+                .map(attachments::get)
                 .collect(Collectors.toList());
 
         News entity = News.builder()
@@ -57,6 +74,7 @@ public class NewsServiceImpl implements NewsService {
                 .build();
 
         newsRepo.save(entity);
+        contentVersions.bump(ContentAggregate.NEWS);
         return ResponseEntity.ok(entity);
     }
 
@@ -74,22 +92,23 @@ public class NewsServiceImpl implements NewsService {
     }
 
     @Override
+    @Transactional
     public HttpEntity<?> deleteNews(Integer id) {
         News news = getNewsById(id);
         newsRepo.delete(news);
+        contentVersions.bump(ContentAggregate.NEWS);
         // files delete
         if (news.getPhotos() != null) {
-            news.getPhotos().forEach(this::deleteAttachment);
+            news.getPhotos().forEach(attachmentService::deleteAttachment);
         }
         if (news.getMainPhoto() != null) {
-            deleteAttachment(news.getMainPhoto());
+            attachmentService.deleteAttachment(news.getMainPhoto());
         }
-
-        newsRepo.delete(news);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @Transactional
     public HttpEntity<?> updateNews(Integer id, NewsDto dto) {
 
         News news = getNewsById(id);
@@ -104,29 +123,89 @@ public class NewsServiceImpl implements NewsService {
         news.setDescription_ru(dto.getDescription_ru());
         news.setDescription_en(dto.getDescription_en());
 
+        Map<UUID, Attachment> attachments = loadAttachments(dto);
+
         // 🖼 main photo
         if (dto.getMainPhoto() != null) {
-            Attachment mainPhoto = attachmentRepo.findById(dto.getMainPhoto())
-                    .orElseThrow(() -> new RuntimeException("Main photo not found"));
-            news.setMainPhoto(mainPhoto);
+            news.setMainPhoto(attachments.get(dto.getMainPhoto()));
         }
 
         // 🖼 additional photos
         if (dto.getPhotos() != null && !dto.getPhotos().isEmpty()) {
             List<Attachment> newPhotos = dto.getPhotos().stream()
-                    .map(idPhoto -> attachmentRepo.findById(idPhoto)
-                            .orElseThrow(() -> new RuntimeException("Photo not found")))
+                    .map(attachments::get)
                     .collect(Collectors.toList());
             news.setPhotos(newPhotos);
         }
 
         newsRepo.save(news);
+        contentVersions.bump(ContentAggregate.NEWS);
         return ResponseEntity.ok(news);
     }
 
-    private void deleteAttachment(Attachment attachment) {
-        File file = new File("backend/files/" + attachment.getPrefix() + "/" + attachment.getName());
-        if (file.exists()) file.delete();
-        attachmentRepo.deleteById(attachment.getId());
+    // main photo and photos in a single lookup
+    private Map<UUID, Attachment> loadAttachments(NewsDto dto) {
+        List<UUID> ids = new ArrayList<>();
+        ids.add(dto.getMainPhoto());
+        if (dto.getPhotos() != null) {
+            if (dto.getPhotos().stream().anyMatch(Objects::isNull)) {
+                throw new RuntimeException("Photo id is required");
+            }
+            ids.addAll(dto.getPhotos());
+        }
+        return attachmentResolver.load(ids);
+    }
+
+    /* ================= WEBSITE (ONE LANGUAGE) ================= */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<NewsWebsiteDto> getNewsPageForWebsite(int page, int size, Language language) {
+        Page<NewsWebsiteDto> news = newsRepo.findWebsitePage(language.code(), PageRequest.of(page, size));
+        fillPhotoIds(news.getContent());
+        return news;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NewsWebsiteDto getNewsForWebsite(Integer id, Language language) {
+        NewsWebsiteDto news = newsRepo.findWebsiteById(id, language.code())
+                .orElseThrow(() -> new RuntimeException("News not found"));
+        fillPhotoIds(List.of(news));
+        return news;
+    }
+
+    private void fillPhotoIds(List<NewsWebsiteDto> news) {
+        if (news.isEmpty()) {
+            return;
+        }
+        Map<Integer, NewsWebsiteDto> byId = news.stream()
+                .collect(Collectors.toMap(NewsWebsiteDto::getId, Function.identity()));
+        for (Object[] row : newsRepo.findPhotoIds(byId.keySet())) {
+            byId.get((Integer) row[0]).getPhotoIds().add((UUID) row[1]);
+        }
+    }
+
+    /* ================= SCROLL (KEYSET) ================= */
+    @Override
+    public CursorSlice<News> scrollNews(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                newsRepo.findScroll(after.createdAt(), after.id(), PageRequest.of(0, size)),
+                news -> Cursor.after(news.getCreatedAt(), news.getId()),
+                count ? newsRepo.count() : null
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<NewsWebsiteDto> scrollNewsForWebsite(String cursor, int size, boolean count, Language language) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        CursorSlice<NewsWebsiteDto> news = CursorSlice.of(
+                newsRepo.findWebsiteScroll(language.code(), after.createdAt(), after.id(), PageRequest.of(0, size)),
+                item -> Cursor.after(item.getCreatedAt(), item.getId()),
+                count ? newsRepo.count() : null
+        );
+        fillPhotoIds(news.getContent());
+        return news;
     }
 }
@@ -0,0 +1,39 @@
+package com.example.backend.Services.StorageService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where attachment bytes live. Keys look like {@code blobs/<sha256>} or
+ * {@code variants/<name>}: a namespace and a leaf name without slashes.
+ * <p>
+ * Uploads are always staged on local disk first and then handed over with
+ * {@link #put}, so implementations never see a half-written file.
+ */
+public interface AttachmentStorage {
+
+    /**
+     * Moves a local file into storage under {@code key}. The source file is
+     * gone afterwards; an existing object with the same key is replaced.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Opens {@code count} bytes starting at {@code offset}.
+     */
+    InputStream open(String key, long offset, long count) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * File on local disk holding {@code key}, when this backend keeps one.
+     * Lets the file be streamed with sendfile instead of through the heap.
+     */
+    Optional<Path> localPath(String key);
+}
@@ -0,0 +1,135 @@
+package com.example.backend.Services.StorageService;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Stores attachments in an S3-compatible bucket (AWS S3, MinIO, ...).
+ * Keys are used as object names as-is; object stores need no sharding.
+ * Set {@code attachment.storage.endpoint} to point at a self-hosted server.
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.storage.type", havingValue = "s3")
+public class S3AttachmentStorage implements AttachmentStorage, DisposableBean {
+
+    private final S3Client s3;
+    private final String bucket;
+
+    public S3AttachmentStorage(@Value("${attachment.storage.s3.endpoint:}") String endpoint,
+                               @Value("${attachment.storage.s3.region:us-east-1}") String region,
+                               @Value("${attachment.storage.s3.bucket}") String bucket,
+                               @Value("${attachment.storage.s3.access-key}") String accessKey,
+                               @Value("${attachment.storage.s3.secret-key}") String secretKey) {
+        this(build(endpoint, region, accessKey, secretKey), bucket);
+    }
+
+    S3AttachmentStorage(S3Client s3, String bucket) {
+        this.s3 = s3;
+        this.bucket = bucket;
+    }
+
+    static S3Client build(String endpoint, String region, String accessKey, String secretKey) {
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                // MinIO and most self-hosted servers only support path-style bucket addressing
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .chunkedEncodingEnabled(false)
+                        .build());
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            s3.putObject(request -> request.bucket(bucket).key(key).contentType(contentType),
+                    RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("Could not upload " + key, e);
+        }
+        Files.delete(source);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            s3.headObject(request -> request.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            // HEAD responses carry no error body, so a missing key is a bare 404
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("Could not check " + key, e);
+        } catch (SdkException e) {
+            throw new IOException("Could not check " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key));
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException(key);
+        } catch (SdkException e) {
+            throw new IOException("Could not read " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long count) throws IOException {
+        String range = "bytes=" + offset + "-" + (offset + count - 1);
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key).range(range));
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException(key);
+        } catch (SdkException e) {
+            throw new IOException("Could not read " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(request -> request.bucket(bucket).key(key));
+        } catch (SdkException e) {
+            throw new IOException("Could not delete " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void destroy() {
+        s3.close();
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.backend.Services.TourDayService;
 
 import com.example.backend.DTO.TourDayDto;
+import com.example.backend.DTO.TourDayWebsiteDto;
+import com.example.backend.Enums.Language;
 import org.springframework.http.HttpEntity;
 
+import java.util.List;
+
 public interface TourDayService {
     HttpEntity<?> create(TourDayDto dto);
     HttpEntity<?> update(Integer id, TourDayDto dto);
@@ -10,4 +14,6 @@ public interface TourDayService {
     HttpEntity<?> getById(Integer id);
     HttpEntity<?> getAll();
     HttpEntity<?> getByTourId(Integer tourId);
-}
\ No newline at end of file
+
+    List<TourDayWebsiteDto> getByTourIdForWebsite(Integer tourId, Language language);
+}
@@ -1,10 +1,15 @@
 package com.example.backend.Services.TourDayService;
 
 import com.example.backend.DTO.TourDayDto;
+import com.example.backend.DTO.TourDayWebsiteDto;
 import com.example.backend.Entity.TourDay;
 import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.TourDayRepo;
 import com.example.backend.Repository.TravelTourRepo;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
+import com.example.backend.Services.TravelTourService.TourSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpEntity;
@@ -20,6 +25,8 @@ public class TourDayServiceImpl implements TourDayService {
 
     private final TourDayRepo tourDayRepo;
     private final TravelTourRepo travelTourRepo;
+    private final TourSearchIndex searchIndex;
+    private final ContentVersions contentVersions;
 
     @Override
     public HttpEntity<?> create(TourDayDto dto) {
@@ -47,6 +54,8 @@ public class TourDayServiceImpl implements TourDayService {
                 .build();
 
         TourDay saved = tourDayRepo.save(tourDay);
+        indexDays(travelTour.getId());
+        contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
         return ResponseEntity.ok(convertToDto(saved));
     }
 
@@ -64,7 +73,8 @@ public class TourDayServiceImpl implements TourDayService {
         }
 
         // Check if tour is being changed
-        if (!tourDay.getTravelTour().getId().equals(dto.getTourId())) {
+        Integer previousTourId = tourDay.getTravelTour().getId();
+        if (!previousTourId.equals(dto.getTourId())) {
             TravelTour newTravelTour = travelTourRepo.findById(dto.getTourId())
                     .orElseThrow(() -> new RuntimeException("Travel tour not found with id: " + dto.getTourId()));
             tourDay.setTravelTour(newTravelTour);
@@ -81,6 +91,11 @@ public class TourDayServiceImpl implements TourDayService {
         tourDay.setDescription_turk(dto.getDescription_turk());
 
         TourDay updated = tourDayRepo.save(tourDay);
+        indexDays(updated.getTravelTour().getId());
+        if (!previousTourId.equals(updated.getTravelTour().getId())) {
+            indexDays(previousTourId);
+        }
+        contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
         return ResponseEntity.ok(convertToDto(updated));
     }
 
@@ -91,6 +106,8 @@ public class TourDayServiceImpl implements TourDayService {
         Integer tourId = tourDay.getTravelTour().getId();
         tourDayRepo.deleteById(id);
         reindex(tourId);  // ✅ TO‘G‘RI
+        indexDays(tourId);
+        contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
         return ResponseEntity.ok().build();
     }
 
@@ -135,6 +152,11 @@ public class TourDayServiceImpl implements TourDayService {
         tourDayRepo.saveAll(days);
     }
 
+    /* day titles are searchable, see TourSearchIndex */
+    private void indexDays(Integer tourId) {
+        searchIndex.indexDays(tourId, tourDayRepo.findByTravelTourIdOrderByPositionAsc(tourId));
+    }
+
     private TourDayDto convertToDto(TourDay tourDay) {
         TourDayDto dto = new TourDayDto();
         dto.setId(tourDay.getId());
@@ -151,4 +173,9 @@ public class TourDayServiceImpl implements TourDayService {
         dto.setTourTitle(tourDay.getTravelTour().getTitle_uz()); // or get appropriate title based on language
         return dto;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<TourDayWebsiteDto> getByTourIdForWebsite(Integer tourId, Language language) {
+        return tourDayRepo.findWebsiteByTourId(tourId, language.code());
+    }
+}
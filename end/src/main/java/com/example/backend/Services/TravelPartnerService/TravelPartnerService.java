@@ -1,7 +1,10 @@
 package com.example.backend.Services.TravelPartnerService;
 
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.TravelPartnerDto;
+import com.example.backend.DTO.TravelPartnerWebsiteDto;
 import com.example.backend.Entity.TravelPartner;
+import com.example.backend.Enums.Language;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 
@@ -20,4 +23,10 @@ public interface TravelPartnerService {
     Page<TravelPartner> getPage(int page, int size);
 
     Page<TravelPartner> getActiveForWebsite(int page, int size);
+
+    Page<TravelPartnerWebsiteDto> getActiveForWebsite(int page, int size, Language language);
+
+    CursorSlice<TravelPartner> scroll(String cursor, int size, boolean count);
+
+    CursorSlice<TravelPartnerWebsiteDto> scrollActiveForWebsite(String cursor, int size, boolean count, Language language);
 }
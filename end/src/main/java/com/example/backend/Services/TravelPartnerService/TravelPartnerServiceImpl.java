@@ -1,12 +1,19 @@
 package com.example.backend.Services.TravelPartnerService;
 
+import com.example.backend.DTO.Cursor;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.TravelPartnerDto;
+import com.example.backend.DTO.TravelPartnerWebsiteDto;
 import com.example.backend.Entity.Attachment;
 import com.example.backend.Entity.TravelPartner;
-import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.TravelPartnerRepo;
+import com.example.backend.Services.AttachmentService.AttachmentResolver;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -20,7 +27,8 @@ import java.util.List;
 public class TravelPartnerServiceImpl implements TravelPartnerService {
 
     private final TravelPartnerRepo partnerRepo;
-    private final AttachmentRepo attachmentRepo;
+    private final AttachmentResolver attachmentResolver;
+    private final ContentVersions contentVersions;
 
     /* ================= CREATE ================= */
     @Override
@@ -41,8 +49,7 @@ public class TravelPartnerServiceImpl implements TravelPartnerService {
 
         Attachment logo = null;
         if (dto.getLogoId() != null) {
-            logo = attachmentRepo.findById(dto.getLogoId())
-                    .orElseThrow(() -> new RuntimeException("Logo not found"));
+            logo = attachmentResolver.resolve(dto.getLogoId());
         }
 
         TravelPartner partner = TravelPartner.builder()
@@ -62,7 +69,9 @@ public class TravelPartnerServiceImpl implements TravelPartnerService {
                 .logo(logo)
                 .build();
 
-        return ResponseEntity.ok(partnerRepo.save(partner));
+        TravelPartner saved = partnerRepo.save(partner);
+        contentVersions.bump(ContentAggregate.TRAVEL_PARTNER);
+        return ResponseEntity.ok(saved);
     }
 
     /* ================= UPDATE ================= */
@@ -115,12 +124,13 @@ public class TravelPartnerServiceImpl implements TravelPartnerService {
         partner.setActive(dto.getActive());
 
         if (dto.getLogoId() != null) {
-            Attachment logo = attachmentRepo.findById(dto.getLogoId())
-                    .orElseThrow(() -> new RuntimeException("Logo not found"));
+            Attachment logo = attachmentResolver.resolve(dto.getLogoId());
             partner.setLogo(logo);
         }
 
-        return ResponseEntity.ok(partnerRepo.save(partner));
+        TravelPartner saved = partnerRepo.save(partner);
+        contentVersions.bump(ContentAggregate.TRAVEL_PARTNER);
+        return ResponseEntity.ok(saved);
     }
 
     /* ================= DELETE ================= */
@@ -131,6 +141,7 @@ public class TravelPartnerServiceImpl implements TravelPartnerService {
         int removedOrder = partner.getSortOrder();
 
         partnerRepo.delete(partner);
+        contentVersions.bump(ContentAggregate.TRAVEL_PARTNER);
 
         // 🔁 close the gap
         List<TravelPartner> toShift =
@@ -170,4 +181,30 @@ public class TravelPartnerServiceImpl implements TravelPartnerService {
         Pageable pageable = PageRequest.of(page, size, Sort.by("sortOrder").ascending());
         return partnerRepo.findAllByActiveTrueOrderBySortOrderAsc(pageable);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<TravelPartnerWebsiteDto> getActiveForWebsite(int page, int size, Language language) {
+        return partnerRepo.findWebsitePage(language.code(), PageRequest.of(page, size));
+    }
+
+    /* ================= SCROLL (KEYSET, BY SORT ORDER) ================= */
+    @Override
+    public CursorSlice<TravelPartner> scroll(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.LOWEST_ORDER);
+        return CursorSlice.of(
+                partnerRepo.findScroll(after.sortOrder(), after.id(), PageRequest.of(0, size)),
+                partner -> Cursor.after(partner.getSortOrder(), partner.getId()),
+                count ? partnerRepo.count() : null
+        );
+    }
+
+    @Override
+    public CursorSlice<TravelPartnerWebsiteDto> scrollActiveForWebsite(String cursor, int size, boolean count, Language language) {
+        Cursor after = Cursor.decode(cursor, Cursor.LOWEST_ORDER);
+        return CursorSlice.of(
+                partnerRepo.findWebsiteScroll(language.code(), after.sortOrder(), after.id(), PageRequest.of(0, size)),
+                partner -> Cursor.after(partner.getSortOrder(), partner.getId()),
+                count ? partnerRepo.countByActiveTrue() : null
+        );
+    }
+}
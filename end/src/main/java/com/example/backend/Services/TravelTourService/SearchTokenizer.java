@@ -0,0 +1,84 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.Enums.Language;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits tour texts into search terms. All languages share one term space,
+ * so the folding is the same everywhere and a query finds a tour whatever
+ * language it was typed in:
+ * <ul>
+ *     <li>lower case, with Turkish rules for Turkish text, and {@code ı} as {@code i};</li>
+ *     <li>accents dropped from Latin letters ({@code ş → s}, {@code ç → c});</li>
+ *     <li>{@code ё → е};</li>
+ *     <li>apostrophes removed, so Uzbek {@code o‘zbek}, {@code o'zbek} and {@code ozbek} are one term;</li>
+ *     <li>HTML tags and entities from the rich-text editor ignored.</li>
+ * </ul>
+ * Stop words are per language.
+ */
+final class SearchTokenizer {
+
+    private static final Pattern HTML = Pattern.compile("<[^>]*>|&[a-zA-Z#0-9]+;");
+    private static final Pattern APOSTROPHES = Pattern.compile("['‘’ʻʼ`´]");
+    private static final Pattern LATIN_MARKS = Pattern.compile("(?<=[a-z])\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private static final Map<Language, Set<String>> STOPWORDS = new EnumMap<>(Language.class);
+
+    static {
+        STOPWORDS.put(Language.UZ, Set.of("va", "bilan", "uchun", "bu", "ham", "yoki", "esa", "lekin", "bir", "har", "dan", "ga", "da"));
+        STOPWORDS.put(Language.RU, Set.of("и", "в", "во", "на", "с", "со", "по", "для", "из", "от", "до", "за", "к", "о", "об", "а", "но", "или", "не", "это"));
+        STOPWORDS.put(Language.EN, Set.of("the", "and", "of", "to", "in", "for", "with", "on", "at", "by", "from", "an", "or", "is", "are"));
+        STOPWORDS.put(Language.TURK, Set.of("ve", "ile", "bir", "bu", "icin", "da", "de", "ya", "veya", "ama", "her"));
+    }
+
+    private SearchTokenizer() {
+    }
+
+    /* Distinct terms in order of appearance */
+    static List<String> tokenize(String text, Language language) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> stopwords = STOPWORDS.get(language);
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalize(text, language))) {
+            if (token.isEmpty() || token.length() < 2 && !Character.isDigit(token.charAt(0))) {
+                continue;
+            }
+            if (!stopwords.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static boolean isStopword(String term) {
+        for (Set<String> stopwords : STOPWORDS.values()) {
+            if (stopwords.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String normalize(String text, Language language) {
+        String s = HTML.matcher(text).replaceAll(" ");
+        s = s.toLowerCase(language == Language.TURK ? TURKISH : Locale.ROOT)
+                .replace('ı', 'i')
+                .replace('ё', 'е');
+        s = APOSTROPHES.matcher(s).replaceAll("");
+        s = LATIN_MARKS.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("");
+        return Normalizer.normalize(s, Normalizer.Form.NFC).trim();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.DTO.TravelTourFullDto;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of {@link TravelTourFullDto} by tour id. An entry is only
+ * valid for the content versions it was loaded under: tours (days bump the
+ * tour version too) and gallery. Any create, update or delete of one of them
+ * makes every entry stale, so nothing needs to be evicted by hand.
+ */
+@Component
+public class TourDetailCache {
+
+    private record Entry(String version, TravelTourFullDto detail) {
+    }
+
+    private final ContentVersions versions;
+    private final LinkedHashMap<Integer, Entry> entries;
+
+    public TourDetailCache(ContentVersions versions,
+                           @Value("${tour.detail-cache.max-entries:500}") int maxEntries) {
+        this.versions = versions;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /*
+     * The version is read before loading: a change committed while loading
+     * leaves the entry under the old version, so the next call reloads it.
+     */
+    public TravelTourFullDto get(Integer tourId, Supplier<TravelTourFullDto> loader) {
+        String version = versions.current(ContentAggregate.TRAVEL_TOUR) + "/" + versions.current(ContentAggregate.GALLERY);
+        synchronized (this) {
+            Entry entry = entries.get(tourId);
+            if (entry != null && entry.version().equals(version)) {
+                return entry.detail();
+            }
+        }
+        TravelTourFullDto detail = loader.get();
+        synchronized (this) {
+            entries.put(tourId, new Entry(version, detail));
+        }
+        return detail;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.DTO.TourFilterDto;
+import com.example.backend.DTO.TourFilterResultDto.CityFacet;
+import com.example.backend.DTO.TourFilterResultDto.PriceFacet;
+import com.example.backend.Enums.Language;
+import com.example.backend.exceptions.InvalidFilterException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Website tour filter as two native queries: one aggregate returning the
+ * city facets, the price-bucket facets and the total together
+ * ({@code GROUPING SETS}), and one for the ids of the requested page.
+ * <p>
+ * Facets are disjunctive: city counts ignore the city filter and price
+ * counts ignore the price filter, everything else applies to both. The
+ * currency belongs to the price filter, and price bounds are only accepted
+ * together with a currency since the amounts of different currencies are
+ * not comparable. Only
+ * {@code travel_tours} is read: its btree indexes (migration V6) and the GIN
+ * indexes on the city arrays (migration V3) serve every condition.
+ * <p>
+ * Values always go in as parameters; the only SQL assembled from strings
+ * are column names picked from {@link Language} and the constants below.
+ */
+@Component
+@RequiredArgsConstructor
+public class TourFilterQuery {
+
+    /* Bucket edges per currency; a tour lands in [edge[i-1], edge[i]) */
+    private static final Map<String, double[]> PRICE_EDGES = new LinkedHashMap<>();
+
+    static {
+        PRICE_EDGES.put("USD", new double[]{300, 600, 1000, 2000});
+        PRICE_EDGES.put("EUR", new double[]{300, 600, 1000, 2000});
+        PRICE_EDGES.put("RUB", new double[]{30_000, 60_000, 100_000, 200_000});
+        PRICE_EDGES.put("UZS", new double[]{3_000_000, 6_000_000, 12_000_000, 25_000_000});
+    }
+
+    private static final String EDGES_CTE = PRICE_EDGES.entrySet().stream()
+            .map(e -> "('" + e.getKey() + "', array[" + Arrays.stream(e.getValue())
+                    .mapToObj(edge -> BigDecimal.valueOf(edge).toPlainString())
+                    .collect(Collectors.joining(", ")) + "]::float8[])")
+            .collect(Collectors.joining(", ", "edges(currency, bounds) as (values ", ")"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    record Result(List<Integer> ids, long total, List<CityFacet> cities, List<PriceFacet> prices) {
+    }
+
+    Result run(TourFilterDto filter, Language language, int page, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = baseCondition(filter, params);
+        String priceOk = priceCondition(filter, params);
+        String cityOk = "true";
+        if (filter.getCity() != null && !filter.getCity().isBlank()) {
+            cityOk = cityCondition(language);
+            params.addValue("city", filter.getCity().trim());
+        }
+
+        /* ===== facets and total ===== */
+        String facetSql = "with " + EDGES_CTE + ", " +
+                "matched as (select t.id, t.currency, width_bucket(t.price, e.bounds) as bucket, " +
+                cities(language) + " as cities, " +
+                priceOk + " as price_ok, " + cityOk + " as city_ok " +
+                "from travel_tours t left join edges e on e.currency = t.currency where " + where + ") " +
+                "select grouping(c.city) as city_set, grouping(m.currency, m.bucket) as price_set, " +
+                "c.city, m.currency, m.bucket, " +
+                "count(distinct m.id) filter (where m.price_ok) as city_count, " +
+                "count(distinct m.id) filter (where m.city_ok) as price_count, " +
+                "count(distinct m.id) filter (where m.price_ok and m.city_ok) as total " +
+                "from matched m left join lateral unnest(m.cities) c(city) on true " +
+                "group by grouping sets ((c.city), (m.currency, m.bucket), ())";
+
+        List<CityFacet> cities = new ArrayList<>();
+        List<PriceFacet> prices = new ArrayList<>();
+        long[] total = {0};
+        jdbc.query(facetSql, params, rs -> {
+            if (rs.getInt("city_set") == 0) {
+                String city = rs.getString("city");
+                long count = rs.getLong("city_count");
+                if (city != null && !city.isBlank() && count > 0) {
+                    cities.add(new CityFacet(city, count));
+                }
+            } else if (rs.getInt("price_set") == 0) {
+                String currency = rs.getString("currency");
+                int bucket = rs.getInt("bucket");
+                boolean priced = !rs.wasNull();
+                long count = rs.getLong("price_count");
+                if (priced && currency != null && count > 0) {
+                    double[] edges = PRICE_EDGES.get(currency);
+                    prices.add(new PriceFacet(currency,
+                            bucket == 0 ? null : edges[bucket - 1],
+                            bucket == edges.length ? null : edges[bucket],
+                            count));
+                }
+            } else {
+                total[0] = rs.getLong("total");
+            }
+        });
+        cities.sort(Comparator.comparingLong(CityFacet::getCount).reversed().thenComparing(CityFacet::getCity));
+        prices.sort(Comparator.comparing(PriceFacet::getCurrency)
+                .thenComparing(PriceFacet::getFrom, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        /* ===== page ===== */
+        List<Integer> ids = List.of();
+        if (total[0] > (long) page * size) {
+            params.addValue("limit", size).addValue("offset", (long) page * size);
+            String pageSql = "select t.id from travel_tours t where " + where + " and " + priceOk + " and " + cityOk +
+                    " order by " + orderBy(filter.getSort()) + ", t.id desc limit :limit offset :offset";
+            ids = jdbc.queryForList(pageSql, params, Integer.class);
+        }
+        return new Result(ids, total[0], cities, prices);
+    }
+
+    /* Filters that apply to the page and to every facet */
+    private static String baseCondition(TourFilterDto filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("t.active = true");
+        if (filter.getFrom() != null) {
+            where.append(" and t.start_date >= :from");
+            params.addValue("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            where.append(" and t.end_date <= :to");
+            params.addValue("to", filter.getTo());
+        }
+        if (filter.getMinDays() != null) {
+            where.append(" and t.end_date - t.start_date + 1 >= :minDays");
+            params.addValue("minDays", filter.getMinDays());
+        }
+        if (filter.getMaxDays() != null) {
+            where.append(" and t.end_date - t.start_date + 1 <= :maxDays");
+            params.addValue("maxDays", filter.getMaxDays());
+        }
+        return where.toString();
+    }
+
+    private static String priceCondition(TourFilterDto filter, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getCurrency() != null && !filter.getCurrency().isBlank()) {
+            conditions.add("t.currency = :currency");
+            params.addValue("currency", filter.getCurrency().trim().toUpperCase(Locale.ROOT));
+        } else if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            throw new InvalidFilterException("minPrice and maxPrice require a currency");
+        }
+        if (filter.getMinPrice() != null) {
+            conditions.add("t.price >= :minPrice");
+            params.addValue("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            conditions.add("t.price <= :maxPrice");
+            params.addValue("maxPrice", filter.getMaxPrice());
+        }
+        return conditions.isEmpty() ? "true" : "coalesce(" + String.join(" and ", conditions) + ", false)";
+    }
+
+    /* Cities in the requested language; tours without translated cities use the Uzbek ones */
+    private static String cities(Language language) {
+        String column = "t.cities_" + language.code();
+        return language == Language.UZ ? column : "coalesce(nullif(" + column + ", '{}'), t.cities_uz)";
+    }
+
+    /* Same fallback as cities(), written as plain @> tests so the GIN indexes apply */
+    private static String cityCondition(Language language) {
+        String uz = "t.cities_uz @> array[:city]::text[]";
+        if (language == Language.UZ) {
+            return uz;
+        }
+        String column = "t.cities_" + language.code();
+        return "(" + column + " @> array[:city]::text[] or coalesce(cardinality(" + column + "), 0) = 0 and " + uz + ")";
+    }
+
+    private static String orderBy(String sort) {
+        if (sort == null) {
+            return "t.created_at desc";
+        }
+        return switch (sort) {
+            case "price_asc" -> "t.price asc nulls last";
+            case "price_desc" -> "t.price desc nulls last";
+            case "start_date" -> "t.start_date asc nulls last";
+            default -> "t.created_at desc";
+        };
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.DTO.TravelTourWebsiteDto;
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.TourDay;
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.Language;
+import com.example.backend.Repository.TourDayRepo;
+import com.example.backend.Repository.TravelTourRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over tour titles, descriptions, itinerary,
+ * cities and day titles in all four languages, for the website search.
+ * <p>
+ * Built from the database once the application is ready, then kept current
+ * by {@link TravelTourServiceImpl} and the tour day service: they hand over
+ * a snapshot inside their transaction and the index applies it after commit.
+ * Searching never touches the database; results are rendered from the
+ * snapshots in the requested language.
+ * <p>
+ * A term scores by the fields it appears in (title over city over day
+ * title over description) times its IDF. Every query term has to match,
+ * exactly, as a prefix of an indexed term, or, for terms of four letters
+ * and more that match nothing exactly, within one edit (two from eight
+ * letters).
+ */
+@Slf4j
+@Component
+public class TourSearchIndex {
+
+    private static final float TITLE = 3f;
+    private static final float CITY = 2.5f;
+    private static final float DAY_TITLE = 1.5f;
+    private static final float DESCRIPTION = 1f;
+    private static final float ITINERARY = 0.8f;
+
+    private static final float PREFIX = 0.7f;
+    private static final float ONE_EDIT = 0.6f;
+    private static final float TWO_EDITS = 0.4f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    /* What the index keeps of a tour: enough to score and to render a result */
+    record TourSnapshot(Integer id, boolean active, LocalDateTime createdAt,
+                        Map<Language, String> titles, Map<Language, String> descriptions,
+                        Map<Language, List<String>> cities, String itineraryDetails,
+                        LocalDate startDate, LocalDate endDate, Double price, String currency,
+                        UUID fileId, List<UUID> imageIds) {
+
+        static TourSnapshot of(TravelTour tour) {
+            Map<Language, String> titles = new EnumMap<>(Language.class);
+            titles.put(Language.UZ, tour.getTitle_uz());
+            titles.put(Language.RU, tour.getTitle_ru());
+            titles.put(Language.EN, tour.getTitle_en());
+            titles.put(Language.TURK, tour.getTitle_turk());
+
+            Map<Language, String> descriptions = new EnumMap<>(Language.class);
+            descriptions.put(Language.UZ, tour.getDescription_uz());
+            descriptions.put(Language.RU, tour.getDescription_ru());
+            descriptions.put(Language.EN, tour.getDescription_en());
+            descriptions.put(Language.TURK, tour.getDescription_turk());
+
+            Map<Language, List<String>> cities = new EnumMap<>(Language.class);
+            cities.put(Language.UZ, copy(tour.getCities_uz()));
+            cities.put(Language.RU, copy(tour.getCities_ru()));
+            cities.put(Language.EN, copy(tour.getCities_en()));
+            cities.put(Language.TURK, copy(tour.getCities_turk()));
+
+            List<UUID> imageIds = tour.getImages() == null ? List.of()
+                    : tour.getImages().stream().map(Attachment::getId).toList();
+
+            return new TourSnapshot(tour.getId(), !Boolean.FALSE.equals(tour.getActive()), tour.getCreatedAt(),
+                    titles, descriptions, cities, tour.getItineraryDetails(),
+                    tour.getStartDate(), tour.getEndDate(), tour.getPrice(), tour.getCurrency(),
+                    tour.getFile() != null ? tour.getFile().getId() : null, imageIds);
+        }
+
+        private static List<String> copy(List<String> values) {
+            return values == null ? List.of() : List.copyOf(values.stream().filter(Objects::nonNull).toList());
+        }
+    }
+
+    private final TravelTourRepo tourRepo;
+    private final TourDayRepo tourDayRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    /* term -> tour id -> weight; sorted for prefix lookups */
+    private final NavigableMap<String, Map<Integer, Float>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, TourSnapshot> tours = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<Language, List<String>>> dayTitles = new ConcurrentHashMap<>();
+    /* terms each tour is filed under, to unfile them on change; guarded by this */
+    private final Map<Integer, Set<String>> termsByTour = new HashMap<>();
+
+    public TourSearchIndex(TravelTourRepo tourRepo, TourDayRepo tourDayRepo, TransactionTemplate transactionTemplate) {
+        this.tourRepo = tourRepo;
+        this.tourDayRepo = tourDayRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reads the tours under the lock the after-commit updates take: a change
+     * committed before the read is in it, one whose update is still waiting
+     * is applied on top of the rebuilt index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TourSnapshot> snapshots = tourRepo.findAll().stream().map(TourSnapshot::of).toList();
+                Map<Integer, List<TourDay>> days = tourDayRepo.findAll().stream()
+                        .filter(day -> day.getTravelTour() != null)
+                        .collect(Collectors.groupingBy(day -> day.getTravelTour().getId()));
+                postings.clear();
+                tours.clear();
+                dayTitles.clear();
+                termsByTour.clear();
+                for (TourSnapshot snapshot : snapshots) {
+                    tours.put(snapshot.id(), snapshot);
+                    dayTitles.put(snapshot.id(), titlesOf(days.getOrDefault(snapshot.id(), List.of())));
+                    refile(snapshot.id());
+                }
+            });
+        }
+        log.info("Tour search index built: {} tours, {} terms in {} ms",
+                tours.size(), postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /* ================= UPDATES (after commit) ================= */
+
+    public void index(TravelTour tour) {
+        TourSnapshot snapshot = TourSnapshot.of(tour);
+        afterCommit(() -> {
+            synchronized (this) {
+                tours.put(snapshot.id(), snapshot);
+                refile(snapshot.id());
+            }
+        });
+    }
+
+    public void remove(Integer tourId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                tours.remove(tourId);
+                dayTitles.remove(tourId);
+                refile(tourId);
+            }
+        });
+    }
+
+    /* All days of the tour, as they are now */
+    public void indexDays(Integer tourId, List<TourDay> days) {
+        Map<Language, List<String>> titles = titlesOf(days);
+        afterCommit(() -> {
+            synchronized (this) {
+                dayTitles.put(tourId, titles);
+                refile(tourId);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static Map<Language, List<String>> titlesOf(List<TourDay> days) {
+        Map<Language, List<String>> titles = new EnumMap<>(Language.class);
+        for (Language language : Language.values()) {
+            titles.put(language, new ArrayList<>());
+        }
+        for (TourDay day : days) {
+            addIfPresent(titles.get(Language.UZ), day.getTitle_uz());
+            addIfPresent(titles.get(Language.RU), day.getTitle_ru());
+            addIfPresent(titles.get(Language.EN), day.getTitle_en());
+            addIfPresent(titles.get(Language.TURK), day.getTitle_turk());
+        }
+        return titles;
+    }
+
+    private static void addIfPresent(List<String> values, String value) {
+        if (value != null && !value.isBlank()) {
+            values.add(value);
+        }
+    }
+
+    /* Recomputes the tour's terms and moves its postings; caller holds the lock */
+    private void refile(Integer tourId) {
+        Map<String, Float> weights = new HashMap<>();
+        TourSnapshot tour = tours.get(tourId);
+        if (tour != null) {
+            addField(weights, TITLE, tour.titles());
+            addField(weights, DESCRIPTION, tour.descriptions());
+            addField(weights, ITINERARY, Map.of(Language.UZ, Objects.requireNonNullElse(tour.itineraryDetails(), "")));
+            addListField(weights, CITY, tour.cities());
+            addListField(weights, DAY_TITLE, dayTitles.getOrDefault(tourId, Map.of()));
+        }
+
+        Set<String> previous = termsByTour.getOrDefault(tourId, Set.of());
+        for (String term : previous) {
+            if (!weights.containsKey(term)) {
+                postings.computeIfPresent(term, (key, docs) -> {
+                    docs.remove(tourId);
+                    return docs.isEmpty() ? null : docs;
+                });
+            }
+        }
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(tourId, weight));
+
+        if (weights.isEmpty()) {
+            termsByTour.remove(tourId);
+        } else {
+            termsByTour.put(tourId, new HashSet<>(weights.keySet()));
+        }
+    }
+
+    /* A term counts once per field, however many languages or times it appears in */
+    private static void addField(Map<String, Float> weights, float weight, Map<Language, String> texts) {
+        Set<String> terms = new HashSet<>();
+        texts.forEach((language, text) -> terms.addAll(SearchTokenizer.tokenize(text, language)));
+        terms.forEach(term -> weights.merge(term, weight, Float::sum));
+    }
+
+    private static void addListField(Map<String, Float> weights, float weight, Map<Language, List<String>> texts) {
+        Set<String> terms = new HashSet<>();
+        texts.forEach((language, values) -> values.forEach(text -> terms.addAll(SearchTokenizer.tokenize(text, language))));
+        terms.forEach(term -> weights.merge(term, weight, Float::sum));
+    }
+
+    /* ================= SEARCH ================= */
+
+    /**
+     * Active tours matching every term of {@code query}, best first, newest
+     * first among equals.
+     */
+    public Page<TravelTourWebsiteDto> search(String query, Language language, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        Map<Integer, Float> scores = null;
+        for (String token : SearchTokenizer.tokenize(query, language)) {
+            Map<Integer, Float> matches = match(token);
+            if (matches.isEmpty() && SearchTokenizer.isStopword(token)) {
+                // a stop word of another language than the one asked for
+                continue;
+            }
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        if (scores == null || scores.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        List<TourSnapshot> ranked = new ArrayList<>(scores.size());
+        for (Integer id : scores.keySet()) {
+            TourSnapshot tour = tours.get(id);
+            if (tour != null && tour.active()) {
+                ranked.add(tour);
+            }
+        }
+        Map<Integer, Float> finalScores = scores;
+        ranked.sort(Comparator.<TourSnapshot>comparingDouble(tour -> -finalScores.get(tour.id()))
+                .thenComparing(TourSnapshot::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(TourSnapshot::id, Comparator.reverseOrder()));
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        List<TravelTourWebsiteDto> content = ranked.subList(from, to).stream()
+                .map(tour -> render(tour, language))
+                .toList();
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    /* tour id -> best score of the token over its exact, prefix and fuzzy expansions */
+    private Map<Integer, Float> match(String token) {
+        Map<Integer, Float> result = new HashMap<>();
+        int documents = Math.max(1, tours.size());
+
+        Map<Integer, Float> exact = postings.get(token);
+        if (exact != null) {
+            collect(result, exact, 1f, documents);
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expanded = 0;
+            for (Map<Integer, Float> docs : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                if (++expanded > MAX_PREFIX_TERMS) {
+                    break;
+                }
+                collect(result, docs, PREFIX, documents);
+            }
+        }
+        if (exact == null && token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Map<Integer, Float>> entry : postings.entrySet()) {
+                String term = entry.getKey();
+                if (Math.abs(term.length() - token.length()) > maxEdits) {
+                    continue;
+                }
+                int edits = editDistance(token, term, maxEdits);
+                if (edits <= maxEdits) {
+                    collect(result, entry.getValue(), edits == 1 ? ONE_EDIT : TWO_EDITS, documents);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void collect(Map<Integer, Float> result, Map<Integer, Float> docs, float factor, int documents) {
+        float idf = (float) Math.log(1 + (double) documents / docs.size());
+        docs.forEach((id, weight) -> result.merge(id, weight * idf * factor, Math::max));
+    }
+
+    /**
+     * Optimal string alignment distance (a swap of neighbours is one edit),
+     * or {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /* Same fallback as the SQL projections: an empty translation shows the Uzbek text */
+    private static TravelTourWebsiteDto render(TourSnapshot tour, Language language) {
+        TravelTourWebsiteDto dto = new TravelTourWebsiteDto(tour.id(),
+                localized(tour.titles(), language), localized(tour.descriptions(), language),
+                tour.startDate(), tour.endDate(), tour.price(), tour.currency(), tour.itineraryDetails(),
+                tour.fileId(), tour.createdAt());
+        List<String> cities = tour.cities().get(language);
+        dto.getCities().addAll(cities.isEmpty() ? tour.cities().get(Language.UZ) : cities);
+        dto.getImageIds().addAll(tour.imageIds());
+        return dto;
+    }
+
+    private static String localized(Map<Language, String> values, Language language) {
+        String value = values.get(language);
+        return value == null || value.isEmpty() ? values.get(Language.UZ) : value;
+    }
+}
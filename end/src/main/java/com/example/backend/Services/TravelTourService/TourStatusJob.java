@@ -0,0 +1,59 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Repository.TravelTourRepo;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Advances {@code TravelTour.status} when a day starts: tours whose start
+ * date has come become ONGOING, tours whose end date has passed COMPLETED.
+ * Two bulk updates, each reading only the tours that can still change.
+ * <p>
+ * Also runs after startup, for midnights the application was down. Statuses
+ * are never moved back here: a tour whose dates are edited gets its status
+ * from the service on save.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TourStatusJob {
+
+    private final TravelTourRepo tourRepo;
+    private final ContentVersions contentVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        advance(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${tour.status.cron:0 0 0 * * *}")
+    public void nightly() {
+        advance(LocalDate.now());
+    }
+
+    public int advance(LocalDate today) {
+        int changed = transactionTemplate.execute(status -> {
+            int started = tourRepo.startBegun(today);
+            int completed = tourRepo.completeEnded(today);
+            if (started + completed > 0) {
+                // the upcoming and past lists have changed
+                contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
+            }
+            return started + completed;
+        });
+        if (changed > 0) {
+            log.info("Tour statuses advanced for {}: {} tours", today, changed);
+        }
+        return changed;
+    }
+}
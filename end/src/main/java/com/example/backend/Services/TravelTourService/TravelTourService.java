@@ -1,7 +1,13 @@
 package com.example.backend.Services.TravelTourService;
 
+import com.example.backend.DTO.CursorSlice;
+import com.example.backend.DTO.TourFilterDto;
+import com.example.backend.DTO.TourFilterResultDto;
 import com.example.backend.DTO.TravelTourDto;
+import com.example.backend.DTO.TravelTourFullDto;
+import com.example.backend.DTO.TravelTourWebsiteDto;
 import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.Language;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 
@@ -15,11 +21,27 @@ public interface TravelTourService {
 
     TravelTour getById(Integer id);
 
+    TravelTourFullDto getFull(Integer id);
+
     HttpEntity<?> getAll();
 
     Page<TravelTour> getPage(int page, int size);
 
     Page<TravelTour> getForWebsite(int page, int size);
 
+    Page<TravelTourWebsiteDto> getForWebsite(int page, int size, Language language);
+
+    TravelTourWebsiteDto getForWebsite(Integer id, Language language);
+
     Page<TravelTour> getOldPage(int page, int size);
+
+    TourFilterResultDto filter(TourFilterDto filter, int page, int size, Language language);
+
+    Page<TravelTourWebsiteDto> search(String query, int page, int size, Language language);
+
+    CursorSlice<TravelTour> scroll(String cursor, int size, boolean count);
+
+    CursorSlice<TravelTour> scrollOld(String cursor, int size, boolean count);
+
+    CursorSlice<TravelTourWebsiteDto> scrollForWebsite(String cursor, int size, boolean count, Language language);
 }
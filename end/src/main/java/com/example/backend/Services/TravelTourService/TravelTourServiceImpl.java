@@ -1,11 +1,24 @@
 package com.example.backend.Services.TravelTourService;
 
+import com.example.backend.DTO.Cursor;
+import com.example.backend.DTO.CursorSlice;
+import com.example.backend.DTO.TourFilterDto;
+import com.example.backend.DTO.TourFilterResultDto;
 import com.example.backend.DTO.TravelTourDto;
+import com.example.backend.DTO.TravelTourFullDto;
+import com.example.backend.DTO.TravelTourWebsiteDto;
 import com.example.backend.Entity.Attachment;
 import com.example.backend.Entity.TravelTour;
-import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
+import com.example.backend.Enums.TourStatus;
+import com.example.backend.Repository.GalleryRepo;
+import com.example.backend.Repository.TourDayRepo;
 import com.example.backend.Repository.TravelTourRepo;
+import com.example.backend.Services.AttachmentService.AttachmentResolver;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
@@ -15,35 +28,39 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TravelTourServiceImpl implements TravelTourService {
 
     private final TravelTourRepo tourRepo;
-    private final AttachmentRepo attachmentRepo;
+    private final AttachmentResolver attachmentResolver;
+    private final TourSearchIndex searchIndex;
+    private final TourFilterQuery filterQuery;
+    private final ContentVersions contentVersions;
+    private final TourDayRepo tourDayRepo;
+    private final GalleryRepo galleryRepo;
+    private final TourDetailCache detailCache;
 
     /* ================= CREATE ================= */
     @Override
     @Transactional
     public HttpEntity<?> create(TravelTourDto dto) {
         try {
-            // Handle images
-            List<Attachment> images = dto.getImageIds() == null || dto.getImageIds().isEmpty()
+            // Handle images and file (one query)
+            Map<UUID, Attachment> attachments = loadAttachments(dto);
+            List<Attachment> images = dto.getImageIds() == null
                     ? List.of()
                     : dto.getImageIds().stream()
-                    .filter(Objects::nonNull)
-                    .map(id -> attachmentRepo.findById(id)
-                            .orElseThrow(() -> new RuntimeException("Image not found with id: " + id)))
+                    .map(attachments::get)
                     .toList();
-
-            // Handle file
-            Attachment file = null;
-            if (dto.getFileId() != null) {
-                file = attachmentRepo.findById(dto.getFileId())
-                        .orElseThrow(() -> new RuntimeException("File not found with id: " + dto.getFileId()));
-            }
+            Attachment file = dto.getFileId() != null ? attachments.get(dto.getFileId()) : null;
 
             // Ensure cities lists are not null
             List<String> citiesUz = dto.getCities_uz() != null ? dto.getCities_uz() : List.of();
@@ -61,6 +78,7 @@ public class TravelTourServiceImpl implements TravelTourService {
                     /* dates */
                     .startDate(dto.getStartDate())
                     .endDate(dto.getEndDate())
+                    .status(TourStatus.of(dto.getStartDate(), dto.getEndDate(), LocalDate.now()))
 
                     /* price */
                     .price(dto.getPrice())
@@ -90,11 +108,13 @@ public class TravelTourServiceImpl implements TravelTourService {
                     .build();
 
             TravelTour savedTour = tourRepo.save(tour);
-            System.out.println("Travel Tour created successfully with ID: " + savedTour.getId());
+            searchIndex.index(savedTour);
+            contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
+            log.info("Travel tour {} created", savedTour.getId());
             return ResponseEntity.ok(savedTour);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Could not create travel tour", e);
             throw new RuntimeException("Error creating travel tour: " + e.getMessage());
         }
     }
@@ -116,6 +136,7 @@ public class TravelTourServiceImpl implements TravelTourService {
             /* dates */
             tour.setStartDate(dto.getStartDate());
             tour.setEndDate(dto.getEndDate());
+            tour.setStatus(TourStatus.of(dto.getStartDate(), dto.getEndDate(), LocalDate.now()));
 
             /* price */
             tour.setPrice(dto.getPrice());
@@ -154,40 +175,56 @@ public class TravelTourServiceImpl implements TravelTourService {
             /* itinerary */
             tour.setItineraryDetails(dto.getItineraryDetails());
 
+            Map<UUID, Attachment> attachments = loadAttachments(dto);
+
             /* file */
             if (dto.getFileId() != null) {
-                Attachment file = attachmentRepo.findById(dto.getFileId())
-                        .orElseThrow(() -> new RuntimeException("File not found with id: " + dto.getFileId()));
-                tour.setFile(file);
+                tour.setFile(attachments.get(dto.getFileId()));
             }
 
             /* images (optional update) */
-            List<Attachment> images = dto.getImageIds().stream()
-                    .filter(Objects::nonNull)
-                    .map(id2 -> attachmentRepo.findById(id2)
-                            .orElseThrow(() -> new RuntimeException("Image not found with id: " + id2)))
-                    .collect(java.util.stream.Collectors.toCollection(ArrayList::new));
-
-            tour.setImages(images);
+            if (dto.getImageIds() != null) {
+                List<Attachment> images = dto.getImageIds().stream()
+                        .map(attachments::get)
+                        .collect(java.util.stream.Collectors.toCollection(ArrayList::new));
+                tour.setImages(images);
+            }
 
             /* active status */
             tour.setActive(dto.getActive());
 
             TravelTour updatedTour = tourRepo.save(tour);
-            System.out.println("Travel Tour updated successfully with ID: " + updatedTour.getId());
+            searchIndex.index(updatedTour);
+            contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
+            log.info("Travel tour {} updated", updatedTour.getId());
             return ResponseEntity.ok(updatedTour);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Could not update travel tour {}", id, e);
             throw new RuntimeException("Error updating travel tour: " + e.getMessage());
         }
     }
 
+    /* images and file in a single lookup */
+    private Map<UUID, Attachment> loadAttachments(TravelTourDto dto) {
+        List<UUID> ids = new ArrayList<>();
+        if (dto.getImageIds() != null) {
+            if (dto.getImageIds().stream().anyMatch(Objects::isNull)) {
+                throw new RuntimeException("Image id is required");
+            }
+            ids.addAll(dto.getImageIds());
+        }
+        ids.add(dto.getFileId());
+        return attachmentResolver.load(ids);
+    }
+
     /* ================= DELETE ================= */
     @Override
     @Transactional
     public HttpEntity<?> delete(Integer id) {
         tourRepo.delete(getById(id));
+        searchIndex.remove(id);
+        contentVersions.bump(ContentAggregate.TRAVEL_TOUR);
         return ResponseEntity.ok().build();
     }
 
@@ -198,6 +235,18 @@ public class TravelTourServiceImpl implements TravelTourService {
                 .orElseThrow(() -> new RuntimeException("Travel tour not found with id: " + id));
     }
 
+    /* ================= DETAIL PAGE ================= */
+    /* three queries on a miss: tour with file and images, days, gallery */
+    @Override
+    public TravelTourFullDto getFull(Integer id) {
+        return detailCache.get(id, () -> TravelTourFullDto.of(
+                tourRepo.findFullById(id)
+                        .orElseThrow(() -> new RuntimeException("Travel tour not found with id: " + id)),
+                tourDayRepo.findDetailDaysByTourId(id),
+                galleryRepo.findItemsByTravelTourId(id)
+        ));
+    }
+
     /* ================= GET ALL (ADMIN) ================= */
     @Override
     public HttpEntity<?> getAll() {
@@ -218,12 +267,7 @@ public class TravelTourServiceImpl implements TravelTourService {
                 Sort.by("createdAt").descending()
         );
 
-        LocalDate today = LocalDate.now();
-
-        return tourRepo.findByEndDateGreaterThanEqualAndActiveTrue(
-                today,
-                pageable
-        );
+        return tourRepo.findUpcomingPage(pageable);
     }
 
     @Override
@@ -235,12 +279,7 @@ public class TravelTourServiceImpl implements TravelTourService {
                 Sort.by("createdAt").descending()
         );
 
-        LocalDate today = LocalDate.now();
-
-        return tourRepo.findByEndDateLessThanAndActiveTrue(
-                today,
-                pageable
-        );
+        return tourRepo.findPastPage(pageable);
     }
 
     /* ================= WEBSITE ================= */
@@ -250,5 +289,107 @@ public class TravelTourServiceImpl implements TravelTourService {
         return tourRepo.findAllByActiveTrueOrderByCreatedAtDesc(pageable);
     }
 
+    /* ================= WEBSITE (ONE LANGUAGE) ================= */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TravelTourWebsiteDto> getForWebsite(int page, int size, Language language) {
+        Page<TravelTourWebsiteDto> tours = tourRepo.findWebsitePage(language.code(), PageRequest.of(page, size));
+        fillCollections(tours.getContent(), language);
+        return tours;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TravelTourWebsiteDto getForWebsite(Integer id, Language language) {
+        TravelTourWebsiteDto tour = tourRepo.findWebsiteById(id, language.code())
+                .orElseThrow(() -> new RuntimeException("Travel tour not found with id: " + id));
+        fillCollections(List.of(tour), language);
+        return tour;
+    }
+
+    /* ================= FILTER (WEBSITE) ================= */
+    @Override
+    @Transactional(readOnly = true)
+    public TourFilterResultDto filter(TourFilterDto filter, int page, int size, Language language) {
+        TourFilterQuery.Result result = filterQuery.run(filter, language, page, size);
+        List<TravelTourWebsiteDto> tours = new ArrayList<>();
+        if (!result.ids().isEmpty()) {
+            Map<Integer, TravelTourWebsiteDto> byId = tourRepo.findWebsiteByIds(result.ids(), language.code()).stream()
+                    .collect(Collectors.toMap(TravelTourWebsiteDto::getId, Function.identity()));
+            result.ids().stream().map(byId::get).forEach(tours::add);
+            fillCollections(tours, language);
+        }
+        return new TourFilterResultDto(
+                new PageImpl<>(tours, PageRequest.of(page, size), result.total()),
+                result.cities(),
+                result.prices()
+        );
+    }
+
+    /* ================= SCROLL (KEYSET) ================= */
+    @Override
+    public CursorSlice<TravelTour> scroll(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                tourRepo.findUpcomingScroll(after.createdAt(), after.id(), PageRequest.of(0, size)),
+                tour -> Cursor.after(tour.getCreatedAt(), tour.getId()),
+                count ? tourRepo.countUpcoming() : null
+        );
+    }
 
-}
\ No newline at end of file
+    @Override
+    public CursorSlice<TravelTour> scrollOld(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                tourRepo.findPastScroll(after.createdAt(), after.id(), PageRequest.of(0, size)),
+                tour -> Cursor.after(tour.getCreatedAt(), tour.getId()),
+                count ? tourRepo.countPast() : null
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<TravelTourWebsiteDto> scrollForWebsite(String cursor, int size, boolean count, Language language) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        CursorSlice<TravelTourWebsiteDto> tours = CursorSlice.of(
+                tourRepo.findWebsiteScroll(language.code(), after.createdAt(), after.id(), PageRequest.of(0, size)),
+                tour -> Cursor.after(tour.getCreatedAt(), tour.getId()),
+                count ? tourRepo.countByActiveTrue() : null
+        );
+        fillCollections(tours.getContent(), language);
+        return tours;
+    }
+
+    /* Cities of the requested language and image ids: two queries for the whole page */
+    private void fillCollections(List<TravelTourWebsiteDto> tours, Language language) {
+        if (tours.isEmpty()) {
+            return;
+        }
+        Map<Integer, TravelTourWebsiteDto> byId = tours.stream()
+                .collect(Collectors.toMap(TravelTourWebsiteDto::getId, Function.identity()));
+
+        // columns follow Language order, after the id
+        for (Object[] row : tourRepo.findCities(byId.keySet())) {
+            List<String> cities = citiesOf(row[1 + language.ordinal()]);
+            // untranslated cities fall back to Uzbek, like titles
+            if (cities.isEmpty()) {
+                cities = citiesOf(row[1]);
+            }
+            byId.get((Integer) row[0]).getCities().addAll(cities);
+        }
+        for (Object[] row : tourRepo.findImageIds(byId.keySet())) {
+            byId.get((Integer) row[0]).getImageIds().add((UUID) row[1]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> citiesOf(Object column) {
+        return column == null ? List.of() : (List<String>) column;
+    }
+
+    /* ================= SEARCH (WEBSITE) ================= */
+    @Override
+    public Page<TravelTourWebsiteDto> search(String query, int page, int size, Language language) {
+        return searchIndex.search(query, language, page, size);
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.backend.Services.YoutubeService;
 
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.YoutubeDto;
+import com.example.backend.DTO.YoutubeWebsiteDto;
 import com.example.backend.Entity.Youtube;
+import com.example.backend.Enums.Language;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpEntity;
 
@@ -18,4 +21,10 @@ public interface YoutubeService {
     HttpEntity<?> getAll();
 
     Page<Youtube> getPage(int page, int size);
+
+    Page<YoutubeWebsiteDto> getForWebsite(int page, int size, Language language);
+
+    CursorSlice<Youtube> scroll(String cursor, int size, boolean count);
+
+    CursorSlice<YoutubeWebsiteDto> scrollForWebsite(String cursor, int size, boolean count, Language language);
 }
@@ -1,10 +1,17 @@
 package com.example.backend.Services.YoutubeService;
 
+import com.example.backend.DTO.Cursor;
+import com.example.backend.DTO.CursorSlice;
 import com.example.backend.DTO.YoutubeDto;
+import com.example.backend.DTO.YoutubeWebsiteDto;
 import com.example.backend.Entity.Youtube;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Enums.Language;
 import com.example.backend.Repository.YoutubeRepo;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -14,6 +21,7 @@ import org.springframework.stereotype.Service;
 public class YoutubeServiceImpl implements YoutubeService {
 
     private final YoutubeRepo youtubeRepo;
+    private final ContentVersions contentVersions;
 
     @Override
     public HttpEntity<?> create(YoutubeDto dto) {
@@ -27,7 +35,9 @@ public class YoutubeServiceImpl implements YoutubeService {
                 .description_turk(dto.getDescription_turk())
                 .build();
 
-        return ResponseEntity.ok(youtubeRepo.save(youtube));
+        Youtube saved = youtubeRepo.save(youtube);
+        contentVersions.bump(ContentAggregate.YOUTUBE);
+        return ResponseEntity.ok(saved);
     }
 
     @Override
@@ -41,13 +51,16 @@ public class YoutubeServiceImpl implements YoutubeService {
         youtube.setDescription_en(dto.getDescription_en());
         youtube.setDescription_turk(dto.getDescription_turk());
 
-        return ResponseEntity.ok(youtubeRepo.save(youtube));
+        Youtube saved = youtubeRepo.save(youtube);
+        contentVersions.bump(ContentAggregate.YOUTUBE);
+        return ResponseEntity.ok(saved);
     }
 
     @Override
     public HttpEntity<?> delete(Integer id) {
         Youtube youtube = getById(id);
         youtubeRepo.delete(youtube);
+        contentVersions.bump(ContentAggregate.YOUTUBE);
         return ResponseEntity.ok().build();
     }
 
@@ -69,4 +82,30 @@ public class YoutubeServiceImpl implements YoutubeService {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         return youtubeRepo.findAll(pageable);
     }
+
+    @Override
+    public Page<YoutubeWebsiteDto> getForWebsite(int page, int size, Language language) {
+        return youtubeRepo.findWebsitePage(language.code(), PageRequest.of(page, size));
+    }
+
+    /* ================= SCROLL (KEYSET) ================= */
+    @Override
+    public CursorSlice<Youtube> scroll(String cursor, int size, boolean count) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                youtubeRepo.findScroll(after.createdAt(), after.id(), PageRequest.of(0, size)),
+                video -> Cursor.after(video.getCreatedAt(), video.getId()),
+                count ? youtubeRepo.count() : null
+        );
+    }
+
+    @Override
+    public CursorSlice<YoutubeWebsiteDto> scrollForWebsite(String cursor, int size, boolean count, Language language) {
+        Cursor after = Cursor.decode(cursor, Cursor.NEWEST);
+        return CursorSlice.of(
+                youtubeRepo.findWebsiteScroll(language.code(), after.createdAt(), after.id(), PageRequest.of(0, size)),
+                video -> Cursor.after(video.getCreatedAt(), video.getId()),
+                count ? youtubeRepo.count() : null
+        );
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/* too many videos being rewritten at once (Mp4FastStart): nothing was stored, the client retries */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class FastStartBusyException extends RuntimeException {
+    public FastStartBusyException() {
+        super("Too many videos are being processed, retry the upload later");
+    }
+}
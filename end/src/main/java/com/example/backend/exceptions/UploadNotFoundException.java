@@ -0,0 +1,12 @@
+package com.example.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/* unknown, completed or expired chunked upload: the client has to start a new one */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UploadNotFoundException extends RuntimeException {
+    public UploadNotFoundException(Object id) {
+        super("Upload not found: " + id);
+    }
+}
@@ -0,0 +1,283 @@
+-- Schema as Hibernate created it (ddl-auto=update) before migrations took over.
+-- Existing databases are baselined at this version instead of running it.
+
+create sequence client_seq start with 1 increment by 50;
+
+create table attachment (
+    id uuid not null,
+    name varchar(255),
+    prefix varchar(255),
+    primary key (id)
+);
+
+create table bron (
+    create_date date,
+    status integer,
+    travel_tour_id integer,
+    id uuid not null,
+    description varchar(255),
+    email varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table carousel (
+    id serial not null,
+    created_at timestamp(6),
+    media_id uuid,
+    title_en varchar(255),
+    title_ru varchar(255),
+    title_turk varchar(255),
+    title_uz varchar(255),
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    primary key (id)
+);
+
+create table client (
+    id integer not null,
+    email varchar(255),
+    full_name varchar(255),
+    passport_number varchar(255),
+    password varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table gallery (
+    id serial not null,
+    travel_tour_id integer,
+    created_at timestamp(6),
+    media_id uuid,
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    primary key (id)
+);
+
+create table news (
+    id serial not null,
+    created_at timestamp(6),
+    main_photo_id uuid unique,
+    title_en varchar(500),
+    title_ru varchar(500),
+    title_turk varchar(500),
+    title_uz varchar(500),
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    primary key (id)
+);
+
+create table news_photos (
+    news_id integer not null,
+    photos_id uuid not null unique
+);
+
+create table role (
+    id integer not null,
+    name varchar(255) not null unique check (name in ('ROLE_ADMIN','ROLE_RECEPTION','ROLE_COOK','ROLE_OTHER','ROLE_USER','ROLE_SUPERADMIN','ROLE_DEAN')),
+    primary key (id)
+);
+
+create table tour_day (
+    id serial not null,
+    position integer,
+    travel_tour_id integer,
+    created_at timestamp(6),
+    title_en varchar(500),
+    title_ru varchar(500),
+    title_turk varchar(500),
+    title_uz varchar(500),
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    primary key (id)
+);
+
+create table travel_partners (
+    active boolean,
+    id serial not null,
+    sort_order integer,
+    created_at timestamp(6),
+    logo_id uuid,
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    email varchar(255),
+    name_en varchar(255) not null,
+    name_ru varchar(255) not null,
+    name_turk varchar(255) not null,
+    name_uz varchar(255) not null,
+    phone varchar(255),
+    website varchar(255),
+    primary key (id)
+);
+
+create table travel_tour_cities_en (
+    tour_id integer not null,
+    cities_en varchar(255)
+);
+
+create table travel_tour_cities_ru (
+    tour_id integer not null,
+    cities_ru varchar(255)
+);
+
+create table travel_tour_cities_turk (
+    tour_id integer not null,
+    cities_turk varchar(255)
+);
+
+create table travel_tour_cities_uz (
+    tour_id integer not null,
+    cities_uz varchar(255)
+);
+
+create table travel_tours (
+    active boolean,
+    end_date date,
+    id serial not null,
+    price float(53),
+    start_date date,
+    created_at timestamp(6),
+    file_id uuid,
+    currency varchar(255),
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    itinerary_details TEXT,
+    title_en varchar(255),
+    title_ru varchar(255),
+    title_turk varchar(255),
+    title_uz varchar(255) not null,
+    primary key (id)
+);
+
+create table travel_tours_images (
+    travel_tour_id integer not null,
+    images_id uuid not null
+);
+
+create table users (
+    current_role_id integer,
+    id uuid not null,
+    name varchar(255),
+    password varchar(255),
+    phone varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users_roles (
+    roles_id integer not null,
+    user_id uuid not null
+);
+
+create table youtube (
+    id serial not null,
+    created_at timestamp(6),
+    description_en TEXT,
+    description_ru TEXT,
+    description_turk TEXT,
+    description_uz TEXT,
+    iframe TEXT not null,
+    primary key (id)
+);
+
+alter table if exists bron
+   add constraint FKaiihdw4bqmt055a9r691dqhe4
+   foreign key (travel_tour_id)
+   references travel_tours;
+
+alter table if exists carousel
+   add constraint FKqx84wq4vjmiad2fqhfxcwil26
+   foreign key (media_id)
+   references attachment;
+
+alter table if exists gallery
+   add constraint FKlbl9sqplh69slous4oy04ofwn
+   foreign key (media_id)
+   references attachment;
+
+alter table if exists gallery
+   add constraint FK5mdp0lfifnd7b5k3kkovxue6g
+   foreign key (travel_tour_id)
+   references travel_tours;
+
+alter table if exists news
+   add constraint FKavct4f51cb2prd2g2d1q95dic
+   foreign key (main_photo_id)
+   references attachment;
+
+alter table if exists news_photos
+   add constraint FKo1s2a6x19tb44sm8xmayb4v6k
+   foreign key (photos_id)
+   references attachment;
+
+alter table if exists news_photos
+   add constraint FKh0o110v0v312w8pj83cinx7j2
+   foreign key (news_id)
+   references news;
+
+alter table if exists tour_day
+   add constraint FK50bakanlrvuonjnynx4fykva5
+   foreign key (travel_tour_id)
+   references travel_tours;
+
+alter table if exists travel_partners
+   add constraint FKj8vksobvlkcyg36en7hlnvnri
+   foreign key (logo_id)
+   references attachment;
+
+alter table if exists travel_tour_cities_en
+   add constraint FKi755b88bw2svs84x5xiy25sqw
+   foreign key (tour_id)
+   references travel_tours;
+
+alter table if exists travel_tour_cities_ru
+   add constraint FKrj11nd21iq6vsymv3ohgd04s0
+   foreign key (tour_id)
+   references travel_tours;
+
+alter table if exists travel_tour_cities_turk
+   add constraint FKkqg7x1u0td5gei2li8r9arqct
+   foreign key (tour_id)
+   references travel_tours;
+
+alter table if exists travel_tour_cities_uz
+   add constraint FKgmf7xo8coe4aqu5qj6u8cf481
+   foreign key (tour_id)
+   references travel_tours;
+
+alter table if exists travel_tours
+   add constraint FKe8wwhhs2v14tyv169f234tfas
+   foreign key (file_id)
+   references attachment;
+
+alter table if exists travel_tours_images
+   add constraint FKb9losi73560mmpgc17t5rtlb6
+   foreign key (images_id)
+   references attachment;
+
+alter table if exists travel_tours_images
+   add constraint FKqeco465opnkqnqccfwme8mxtk
+   foreign key (travel_tour_id)
+   references travel_tours;
+
+alter table if exists users_roles
+   add constraint FK15d410tj6juko0sq9k4km60xq
+   foreign key (roles_id)
+   references role;
+
+alter table if exists users_roles
+   add constraint FK2o0jvgh89lemvvo17cbqvdxaa
+   foreign key (user_id)
+   references users;
@@ -0,0 +1,86 @@
+-- Attachment storage: content-addressed blobs with reference counts, image
+-- variants, resumable chunked uploads and the file deletion outbox.
+-- Attachments uploaded before keep a null blob_hash and are read from their
+-- legacy path until AttachmentStorageMigration moves them.
+
+/* ================= ATTACHMENTS ================= */
+create table attachment_blob (
+    ref_count integer,
+    created_at timestamp(6),
+    size bigint,
+    hash varchar(64) not null,
+    content_type varchar(255),
+    primary key (hash)
+);
+
+alter table attachment
+    add column height integer,
+    add column width integer,
+    add column dominant_color varchar(7),
+    add column created_at timestamp(6),
+    add column size bigint,
+    add column blob_hash varchar(64),
+    add column blur_hash varchar(64),
+    add column content_hash varchar(64),
+    add column content_type varchar(255);
+
+alter table if exists attachment
+   add constraint FKcxxkkqtdc530qt74l9df4vh8j
+   foreign key (blob_hash)
+   references attachment_blob;
+
+create table attachment_variant (
+    height integer,
+    width integer,
+    created_at timestamp(6),
+    size bigint,
+    attachment_id uuid not null,
+    id uuid not null,
+    content_type varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+alter table if exists attachment_variant
+   add constraint FKs7hl36vvu37erl05ewcn98gjp
+   foreign key (attachment_id)
+   references attachment;
+
+/* ================= CHUNKED UPLOADS ================= */
+create table chunked_upload (
+    chunk_size integer,
+    total_chunks integer,
+    created_at timestamp(6),
+    size bigint,
+    id uuid not null,
+    file_name varchar(255),
+    prefix varchar(255),
+    primary key (id)
+);
+
+create table chunked_upload_chunks (
+    chunk_index integer,
+    upload_id uuid not null,
+    constraint UKc94d5a5fsj0iuak50lkrdiwtg unique (chunk_index, upload_id)
+);
+
+alter table if exists chunked_upload_chunks
+   add constraint FKbyrksmav6aneiorn7n4cyq3x8
+   foreign key (upload_id)
+   references chunked_upload;
+
+/* ================= FILE DELETION OUTBOX ================= */
+create table file_deletion (
+    attempts integer not null,
+    created_at timestamp(6),
+    id bigserial not null,
+    next_attempt_at timestamp(6),
+    storage_key varchar(512),
+    last_error varchar(1000),
+    local_path varchar(1024),
+    primary key (id)
+);
+
+-- FileDeletionRepo.lockDue and cancel
+create index idx_file_deletion_next_attempt on file_deletion (next_attempt_at);
+create index idx_file_deletion_storage_key on file_deletion (storage_key);
@@ -0,0 +1,25 @@
+-- Tour cities: one text[] column per language instead of one collection table
+-- per language. Tables left over from the old mapping are copied in insertion
+-- (ctid) order and dropped.
+
+do $$
+declare
+    lang text;
+begin
+    foreach lang in array array['uz', 'ru', 'en', 'turk'] loop
+        execute format('alter table travel_tours add column if not exists cities_%s text[]', lang);
+        if to_regclass('travel_tour_cities_' || lang) is not null then
+            execute format('update travel_tours t set cities_%1$s = coalesce('
+                    || '(select array_agg(c.cities_%1$s order by c.ctid) from travel_tour_cities_%1$s c '
+                    || 'where c.tour_id = t.id), ''{}'') where t.cities_%1$s is null', lang);
+            execute format('drop table travel_tour_cities_%s', lang);
+        end if;
+    end loop;
+end
+$$;
+
+-- "tours containing city X": cities_xx @> array[...] (TourFilterQuery)
+create index if not exists idx_travel_tours_cities_uz on travel_tours using gin (cities_uz);
+create index if not exists idx_travel_tours_cities_ru on travel_tours using gin (cities_ru);
+create index if not exists idx_travel_tours_cities_en on travel_tours using gin (cities_en);
+create index if not exists idx_travel_tours_cities_turk on travel_tours using gin (cities_turk);
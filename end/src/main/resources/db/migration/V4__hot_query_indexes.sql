@@ -0,0 +1,46 @@
+-- Indexes for the predicates the listings, the admin panel and the statistics
+-- page filter on, and the unique constraints the services already enforce in
+-- code (TourDayServiceImpl, TravelPartnerServiceImpl).
+
+/* ================= TRAVEL TOURS ================= */
+-- upcoming / past pages and their counts: active, end_date range, newest first
+create index if not exists idx_travel_tours_active_end_created
+    on travel_tours (end_date, created_at, id) where active;
+-- statistics: created today / this week / this month, upcoming, ongoing, completed
+create index if not exists idx_travel_tours_created on travel_tours (created_at);
+create index if not exists idx_travel_tours_start_date on travel_tours (start_date);
+create index if not exists idx_travel_tours_end_date on travel_tours (end_date);
+-- image ids of a page of tours, and "with / without images"
+create index if not exists idx_travel_tours_images_tour on travel_tours_images (travel_tour_id);
+
+/* ================= BOOKINGS ================= */
+create index if not exists idx_bron_create_date on bron (create_date);
+create index if not exists idx_bron_travel_tour on bron (travel_tour_id);
+
+/* ================= TOUR DAYS ================= */
+-- the services renumber positions one row at a time, hence checked at commit
+update tour_day d
+set position = r.rn
+from (select id, row_number() over (partition by travel_tour_id order by position nulls last, id) as rn
+      from tour_day) r
+where r.id = d.id
+  and d.travel_tour_id in (select travel_tour_id from tour_day
+                           group by travel_tour_id, position having count(*) > 1);
+
+alter table tour_day
+    add constraint uk_tour_day_tour_position unique (travel_tour_id, position) deferrable initially deferred;
+create index if not exists idx_tour_day_created on tour_day (created_at);
+
+/* ================= GALLERY ================= */
+create index if not exists idx_gallery_travel_tour on gallery (travel_tour_id);
+
+/* ================= TRAVEL PARTNERS ================= */
+update travel_partners p
+set sort_order = r.rn
+from (select id, row_number() over (order by sort_order nulls last, id) as rn from travel_partners) r
+where r.id = p.id
+  and exists (select 1 from travel_partners group by sort_order having count(*) > 1);
+
+alter table travel_partners
+    add constraint uk_travel_partners_sort_order unique (sort_order) deferrable initially deferred;
+create index if not exists idx_travel_partners_created on travel_partners (created_at);
@@ -0,0 +1,33 @@
+-- Tour lifecycle status (Enums.TourStatus), kept up to date by TourStatusJob.
+-- Same rule as TourStatus.of; the job corrects any row when the application
+-- starts, should the database date differ from the application's.
+
+alter table travel_tours add column status varchar(16)
+    constraint ck_travel_tours_status check (status in ('UPCOMING', 'ONGOING', 'COMPLETED'));
+
+update travel_tours
+set status = case
+                 when end_date is null then null
+                 when end_date < current_date then 'COMPLETED'
+                 when start_date > current_date then 'UPCOMING'
+                 else 'ONGOING'
+             end;
+
+/* ================= LISTINGS ================= */
+-- upcoming (not completed) and past pages, newest first, and their counts
+create index idx_travel_tours_open_created
+    on travel_tours (created_at, id) where active and status <> 'COMPLETED';
+create index idx_travel_tours_completed_created
+    on travel_tours (created_at, id) where active and status = 'COMPLETED';
+-- statistics: one grouped count
+create index idx_travel_tours_status on travel_tours (status);
+
+/* ================= NIGHTLY TRANSITIONS ================= */
+-- only the tours that can still change status
+create index idx_travel_tours_open_end on travel_tours (end_date) where status <> 'COMPLETED';
+create index idx_travel_tours_upcoming_start on travel_tours (start_date) where status = 'UPCOMING';
+
+-- replaced by the indexes above (V4)
+drop index if exists idx_travel_tours_active_end_created;
+drop index if exists idx_travel_tours_start_date;
+drop index if exists idx_travel_tours_end_date;
@@ -0,0 +1,12 @@
+-- Indexes for the newest-first listings and the website tour filter.
+
+create index idx_carousel_created on carousel (created_at, id);
+create index idx_gallery_created on gallery (created_at, id);
+create index idx_news_created on news (created_at, id);
+create index idx_youtube_created on youtube (created_at, id);
+-- website partner list: active ones in sort order
+create index idx_travel_partners_active_order on travel_partners (active, sort_order, id);
+-- website tour page and TourFilterQuery
+create index idx_travel_tours_active_created_id on travel_tours (active, created_at, id);
+create index idx_travel_tours_active_currency_price on travel_tours (active, currency, price);
+create index idx_travel_tours_active_dates on travel_tours (active, start_date, end_date);
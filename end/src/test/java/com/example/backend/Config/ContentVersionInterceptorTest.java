@@ -0,0 +1,141 @@
+package com.example.backend.Config;
+
+import com.example.backend.Controller.ContentVersioned;
+import com.example.backend.Controller.GalleryController;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentVersionInterceptorTest {
+
+    private final ContentVersions versions = new ContentVersions();
+    private final ContentVersionInterceptor interceptor =
+            new ContentVersionInterceptor(versions, Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+    @Test
+    void answersMatchingIfNoneMatchWithoutCallingTheController() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("/api/v1/news/page"), first, handler("news")));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\"news-"));
+        assertEquals("max-age=30, public, stale-while-revalidate=300", first.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        MockHttpServletRequest again = get("/api/v1/news/page");
+        again.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(again, second, handler("news")));
+        assertEquals(304, second.getStatus());
+        assertEquals(etag, second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void changesWithTheVersionAndTheRequest() throws Exception {
+        String before = etag(get("/api/v1/news/page"));
+        assertEquals(before, etag(get("/api/v1/news/page")));
+
+        MockHttpServletRequest russian = get("/api/v1/news/page");
+        russian.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "ru");
+        assertNotEquals(before, etag(russian));
+
+        MockHttpServletRequest secondPage = get("/api/v1/news/page");
+        secondPage.setQueryString("page=1");
+        assertNotEquals(before, etag(secondPage));
+
+        versions.bump(ContentAggregate.NEWS);
+        assertNotEquals(before, etag(get("/api/v1/news/page")));
+    }
+
+    @Test
+    void changesWithEachOfSeveralAggregates() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(get("/api/v1/travel-tours/1/full"), response, handler("detail"));
+        String before = response.getHeader(HttpHeaders.ETAG);
+        assertTrue(before.startsWith("W/\"travel_tour-"));
+
+        versions.bump(ContentAggregate.GALLERY);
+        response = new MockHttpServletResponse();
+        interceptor.preHandle(get("/api/v1/travel-tours/1/full"), response, handler("detail"));
+        assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void galleryEntitiesRevalidateWhenTheirTourChanges() throws Exception {
+        // these bodies embed the Gallery's TravelTour
+        for (String name : List.of("getAll", "getPage", "scroll", "getByTravelId", "getById")) {
+            HandlerMethod endpoint = galleryEndpoint(name);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            interceptor.preHandle(get("/api/v1/gallery"), response, endpoint);
+            String before = response.getHeader(HttpHeaders.ETAG);
+
+            versions.bump(ContentAggregate.TRAVEL_TOUR);
+            response = new MockHttpServletResponse();
+            interceptor.preHandle(get("/api/v1/gallery"), response, endpoint);
+            assertNotEquals(before, response.getHeader(HttpHeaders.ETAG), name);
+        }
+    }
+
+    @Test
+    void authenticatedRequestsAlwaysRevalidate() throws Exception {
+        MockHttpServletRequest admin = get("/api/v1/news/page");
+        admin.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(admin, response, handler("news"));
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void leavesOtherEndpointsAlone() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("/api/v1/file/1"), response, handler("plain")));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private String etag(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler("news"));
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static HandlerMethod galleryEndpoint(String name) {
+        Method method = Arrays.stream(GalleryController.class.getMethods())
+                .filter(m -> m.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+        return new HandlerMethod(new GalleryController(null), method);
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    public static class Endpoints {
+        @ContentVersioned(ContentAggregate.NEWS)
+        public String news() {
+            return "";
+        }
+
+        @ContentVersioned({ContentAggregate.TRAVEL_TOUR, ContentAggregate.GALLERY})
+        public String detail() {
+            return "";
+        }
+
+        public String plain() {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.backend.DTO;
+
+import com.example.backend.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    void roundTripsCreatedAtToTheMicrosecond() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 5, 1, 10, 0, 0, 123_456_000);
+        Cursor cursor = Cursor.decode(Cursor.after(createdAt, 916).encode(), Cursor.NEWEST);
+
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(916, cursor.id());
+    }
+
+    @Test
+    void roundTripsSortOrder() {
+        Cursor cursor = Cursor.decode(Cursor.after(-3, 7).encode(), Cursor.LOWEST_ORDER);
+
+        assertEquals(-3, cursor.sortOrder());
+        assertEquals(7, cursor.id());
+    }
+
+    @Test
+    void blankTokenStartsFromTheFirstRow() {
+        assertSame(Cursor.NEWEST, Cursor.decode(null, Cursor.NEWEST));
+        assertSame(Cursor.LOWEST_ORDER, Cursor.decode(" ", Cursor.LOWEST_ORDER));
+        assertTrue(Cursor.NEWEST.createdAt().isAfter(LocalDateTime.now().plusYears(1000)));
+    }
+
+    @Test
+    void rejectsForeignTokens() {
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("garbage", Cursor.NEWEST));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("!!", Cursor.NEWEST));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("MTIz", Cursor.NEWEST));
+    }
+
+    @Test
+    void rejectsKeysOutsideTheTimestampRange() {
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode(token(Long.MAX_VALUE + ".1"), Cursor.NEWEST));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode(token(Long.MIN_VALUE + ".1"), Cursor.NEWEST));
+        assertEquals(Cursor.NEWEST, Cursor.decode(Cursor.NEWEST.encode(), Cursor.NEWEST));
+        assertEquals(Cursor.LOWEST_ORDER, Cursor.decode(Cursor.LOWEST_ORDER.encode(), Cursor.LOWEST_ORDER));
+    }
+
+    private static String token(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
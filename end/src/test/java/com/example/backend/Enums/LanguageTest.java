@@ -0,0 +1,37 @@
+package com.example.backend.Enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LanguageTest {
+
+    @Test
+    void parameterWinsOverTheHeader() {
+        assertEquals(Language.EN, Language.resolve("en", "ru-RU,ru;q=0.9"));
+        assertEquals(Language.TURK, Language.resolve("TR", null));
+        assertEquals(Language.TURK, Language.resolve("turk", null));
+        assertEquals(Language.RU, Language.resolve("ru-RU", null));
+    }
+
+    @Test
+    void headerIsReadInPreferenceOrder() {
+        assertEquals(Language.RU, Language.resolve(null, "de-DE,de;q=0.9,ru;q=0.8,en;q=0.7"));
+        assertEquals(Language.EN, Language.resolve("", "en;q=0.5,ru;q=0.3"));
+        assertEquals(Language.TURK, Language.resolve("xx", "tr-TR"));
+    }
+
+    @Test
+    void fallsBackToUzbek() {
+        assertEquals(Language.UZ, Language.resolve(null, null));
+        assertEquals(Language.UZ, Language.resolve("de", "fr-FR,de;q=0.9"));
+        assertEquals(Language.UZ, Language.resolve(null, ";;;q=bad"));
+    }
+
+    @Test
+    void codesAndTags() {
+        assertEquals("turk", Language.TURK.code());
+        assertEquals("tr", Language.TURK.tag());
+        assertNull(Language.of(" "));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * A database the application built before the migrations (ddl-auto=update)
+ * is baselined at V1 and brought up to date by the later migrations, and
+ * Hibernate then accepts the schema (ddl-auto=validate).
+ * <p>
+ * The old database is recreated on the configured server as a scratch
+ * database: the V1 schema, which is exactly what Hibernate created back then,
+ * with rows in the shapes the later migrations convert.
+ */
+@SpringBootTest
+class MigrationUpgradeTest {
+
+    private static final String DATABASE = "travel_upgrade_test";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void oldDatabase(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        String server = properties.getProperty("spring.datasource.url");
+        String user = properties.getProperty("spring.datasource.username");
+        String password = properties.getProperty("spring.datasource.password");
+        String url = server.substring(0, server.lastIndexOf('/') + 1) + DATABASE;
+
+        try (Connection connection = DriverManager.getConnection(server, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop database if exists " + DATABASE + " with (force)");
+            statement.execute("create database " + DATABASE);
+        }
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/migration/V1__baseline.sql")
+                    .getContentAsString(StandardCharsets.UTF_8));
+            statement.execute("""
+                    insert into travel_tours (id, title_uz, active, start_date, end_date, created_at)
+                    values (1, 'past', true, date '2020-01-01', date '2020-01-05', now()),
+                           (2, 'upcoming', true, date '2100-01-01', date '2100-01-05', now()),
+                           (3, 'no dates', true, null, null, now());
+                    insert into travel_tour_cities_uz (tour_id, cities_uz)
+                    values (1, 'Samarqand'), (1, 'Buxoro'), (2, 'Xiva');
+                    insert into tour_day (travel_tour_id, position, title_uz)
+                    values (1, 1, 'a'), (1, 1, 'b'), (1, 2, 'c');
+                    insert into travel_partners (sort_order, name_uz, name_ru, name_en, name_turk)
+                    values (1, 'a', 'a', 'a', 'a'), (1, 'b', 'b', 'b', 'b');
+                    """);
+        }
+
+        registry.add("spring.datasource.url", () -> url);
+    }
+
+    @Test
+    void oldDatabaseIsMigrated() {
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where success order by installed_rank", String.class));
+
+        assertArrayEquals(new String[]{"Samarqand", "Buxoro"}, cities(1));
+        assertArrayEquals(new String[]{"Xiva"}, cities(2));
+        assertArrayEquals(new String[0], cities(3));
+        assertNull(jdbcTemplate.queryForObject("select to_regclass('travel_tour_cities_uz')", String.class));
+
+        assertEquals(List.of("COMPLETED", "UPCOMING"), jdbcTemplate.queryForList(
+                "select status from travel_tours where status is not null order by id", String.class));
+        assertEquals(List.of(1, 2, 3), jdbcTemplate.queryForList(
+                "select position from tour_day where travel_tour_id = 1 order by position", Integer.class));
+        assertEquals(List.of(1, 2), jdbcTemplate.queryForList(
+                "select sort_order from travel_partners order by sort_order", Integer.class));
+    }
+
+    private String[] cities(int tourId) {
+        return jdbcTemplate.queryForObject("select cities_uz from travel_tours where id = ?",
+                (rs, row) -> (String[]) rs.getArray(1).getArray(), tourId);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.backend.Repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every query declared in {@link TravelTourRepo}, {@link BronRepo} and
+ * {@link TourDayRepo} has to be served by an index (db/migration). The
+ * statements a repository method sends are recorded with their parameters
+ * and replayed under {@code EXPLAIN} with {@code enable_seqscan = off}: the
+ * planner then only keeps a sequential scan when no index can be used.
+ * <p>
+ * Runs against the configured database on a seeded dataset, all rolled back.
+ */
+@SpringBootTest
+class RepositoryQueryPlanTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+    private static final List<Recorded> RECORDED = new CopyOnWriteArrayList<>();
+    private static volatile boolean recording;
+
+    @Autowired
+    private TravelTourRepo tourRepo;
+    @Autowired
+    private BronRepo bronRepo;
+    @Autowired
+    private TourDayRepo tourDayRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer tourId = seed();
+            jdbcTemplate.execute("set local enable_seqscan = off");
+
+            List<String> failures = new ArrayList<>();
+            queries(tourId).forEach((name, query) -> {
+                List<Recorded> statements = record(query);
+                assertTrue(statements.stream().anyMatch(Recorded::isQuery), name + " sent no query");
+                for (Recorded statement : statements) {
+                    if (!statement.isQuery()) {
+                        continue;
+                    }
+                    String plan = explain(statement);
+                    if (plan.contains("Seq Scan")) {
+                        failures.add(name + ":\n" + statement.sql() + "\n" + plan);
+                    }
+                }
+            });
+            assertTrue(failures.isEmpty(), "sequential scans:\n\n" + String.join("\n\n", failures));
+        });
+    }
+
+    @Test
+    void everyDeclaredQueryIsChecked() {
+        List<String> declared = Stream.of(TravelTourRepo.class, BronRepo.class, TourDayRepo.class)
+                .flatMap(repo -> Arrays.stream(repo.getDeclaredMethods())
+                        .filter(method -> Modifier.isAbstract(method.getModifiers()))
+                        .map(method -> repo.getSimpleName() + "." + method.getName()))
+                .distinct()
+                .sorted()
+                .toList();
+        assertEquals(declared, queries(1).keySet().stream().sorted().toList());
+    }
+
+    /* one call per declared repository method */
+    private Map<String, Runnable> queries(Integer tourId) {
+        PageRequest page = PageRequest.of(0, 10);
+        PageRequest newest = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+        LocalDateTime from = TODAY.atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("TravelTourRepo.findAllByActiveTrueOrderByCreatedAtDesc", () -> tourRepo.findAllByActiveTrueOrderByCreatedAtDesc(page));
+        queries.put("TravelTourRepo.findUpcomingPage", () -> tourRepo.findUpcomingPage(newest));
+        queries.put("TravelTourRepo.findPastPage", () -> tourRepo.findPastPage(newest));
+        queries.put("TravelTourRepo.countByActiveTrue", tourRepo::countByActiveTrue);
+        queries.put("TravelTourRepo.countByActiveFalse", tourRepo::countByActiveFalse);
+        queries.put("TravelTourRepo.countGroupedByStatus", tourRepo::countGroupedByStatus);
+        queries.put("TravelTourRepo.countByImagesIsNotEmpty", tourRepo::countByImagesIsNotEmpty);
+        queries.put("TravelTourRepo.countByImagesIsEmpty", tourRepo::countByImagesIsEmpty);
+        queries.put("TravelTourRepo.countByCreatedAtBetween", () -> tourRepo.countByCreatedAtBetween(from, to));
+        queries.put("TravelTourRepo.findById", () -> tourRepo.findById(tourId));
+        queries.put("TravelTourRepo.findWebsitePage", () -> tourRepo.findWebsitePage("ru", page));
+        queries.put("TravelTourRepo.findWebsiteById", () -> tourRepo.findWebsiteById(tourId, "ru"));
+        queries.put("TravelTourRepo.findWebsiteByIds", () -> tourRepo.findWebsiteByIds(List.of(tourId, tourId + 1), "ru"));
+        queries.put("TravelTourRepo.findCities", () -> tourRepo.findCities(List.of(tourId, tourId + 1)));
+        queries.put("TravelTourRepo.findImageIds", () -> tourRepo.findImageIds(List.of(tourId, tourId + 1)));
+        queries.put("TravelTourRepo.findUpcomingScroll", () -> tourRepo.findUpcomingScroll(from, Integer.MAX_VALUE, page));
+        queries.put("TravelTourRepo.findPastScroll", () -> tourRepo.findPastScroll(from, Integer.MAX_VALUE, page));
+        queries.put("TravelTourRepo.findWebsiteScroll", () -> tourRepo.findWebsiteScroll("ru", from, Integer.MAX_VALUE, page));
+        queries.put("TravelTourRepo.countUpcoming", tourRepo::countUpcoming);
+        queries.put("TravelTourRepo.countPast", tourRepo::countPast);
+        queries.put("TravelTourRepo.findFullById", () -> tourRepo.findFullById(tourId));
+        queries.put("TravelTourRepo.completeEnded", () -> tourRepo.completeEnded(TODAY));
+        queries.put("TravelTourRepo.startBegun", () -> tourRepo.startBegun(TODAY));
+
+        queries.put("BronRepo.countByCreateDate", () -> bronRepo.countByCreateDate(TODAY));
+        queries.put("BronRepo.countByCreateDateBetween", () -> bronRepo.countByCreateDateBetween(TODAY.minusDays(7), TODAY));
+
+        queries.put("TourDayRepo.findByTravelTourIdOrderByPositionAsc", () -> tourDayRepo.findByTravelTourIdOrderByPositionAsc(tourId));
+        queries.put("TourDayRepo.existsByTravelTourIdAndPosition", () -> tourDayRepo.existsByTravelTourIdAndPosition(tourId, 2));
+        queries.put("TourDayRepo.countByCreatedAtBetween", () -> tourDayRepo.countByCreatedAtBetween(from, to));
+        queries.put("TourDayRepo.findWebsiteByTourId", () -> tourDayRepo.findWebsiteByTourId(tourId, "ru"));
+        queries.put("TourDayRepo.findDetailDaysByTourId", () -> tourDayRepo.findDetailDaysByTourId(tourId));
+        return queries;
+    }
+
+    /* 2000 tours over a year, two bookings and three days each; returns the first tour id */
+    private Integer seed() {
+        jdbcTemplate.update("insert into travel_tours (title_uz, active, start_date, end_date, created_at, price, currency, " +
+                "cities_uz, cities_ru, cities_en, cities_turk) " +
+                "select 'Plan test ' || g, g % 5 <> 0, date '2026-01-01' + g % 365, date '2026-01-01' + g % 365 + 4, " +
+                "timestamp '2026-01-01' + g * interval '4 hours', 100 + g, 'USD', array['Samarqand'], '{}', '{}', '{}' " +
+                "from generate_series(1, 2000) g");
+        jdbcTemplate.update("update travel_tours set status = case when end_date < ? then 'COMPLETED' " +
+                "when start_date > ? then 'UPCOMING' else 'ONGOING' end where title_uz like 'Plan test %'", TODAY, TODAY);
+        jdbcTemplate.update("insert into bron (id, name, create_date, travel_tour_id) " +
+                "select gen_random_uuid(), 'Plan test', t.start_date - g, t.id " +
+                "from travel_tours t cross join generate_series(1, 2) g where t.title_uz like 'Plan test %'");
+        jdbcTemplate.update("insert into tour_day (travel_tour_id, position, title_uz, created_at) " +
+                "select t.id, g, 'Day ' || g, t.created_at " +
+                "from travel_tours t cross join generate_series(1, 3) g where t.title_uz like 'Plan test %'");
+        jdbcTemplate.execute("analyze travel_tours, bron, tour_day, travel_tours_images");
+        return jdbcTemplate.queryForObject("select min(id) from travel_tours where title_uz like 'Plan test %'", Integer.class);
+    }
+
+    private static List<Recorded> record(Runnable query) {
+        RECORDED.clear();
+        recording = true;
+        try {
+            query.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(RECORDED);
+    }
+
+    private String explain(Recorded statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+                for (Bind bind : statement.binds()) {
+                    bind.method().invoke(explain, bind.args());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    record Bind(Method method, Object[] args) {
+    }
+
+    record Recorded(String sql, List<Bind> binds) {
+        boolean isQuery() {
+            String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return start.startsWith("select") || start.startsWith("with") || start.startsWith("update");
+        }
+    }
+
+    /* Wraps the pool so prepared statements report their SQL and parameters while recording */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                            ? wrap(statement, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            List<Bind> binds = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                    binds.add(new Bind(method, args.clone()));
+                } else if (name.equals("clearParameters")) {
+                    binds.clear();
+                } else if (recording && name.startsWith("execute")) {
+                    RECORDED.add(new Recorded(sql, List.copyOf(binds)));
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.Repository;
+
+import com.example.backend.DTO.TravelTourWebsiteDto;
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.Language;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The one-language website queries: the requested translation, Uzbek when it
+ * is missing or empty, and hidden tours left out. Runs against the configured
+ * database and rolls back.
+ */
+@SpringBootTest
+class TravelTourWebsiteQueryTest {
+
+    @Autowired
+    private TravelTourRepo tourRepo;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void missingTranslationsFallBackToUzbek() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer id = save(true);
+
+            TravelTourWebsiteDto ru = tourRepo.findWebsiteById(id, Language.RU.code()).orElseThrow();
+            assertEquals("Sayohat", ru.getTitle());          // empty title_ru
+            assertEquals("Tavsif", ru.getDescription());     // null description_ru
+
+            TravelTourWebsiteDto en = tourRepo.findWebsiteById(id, Language.EN.code()).orElseThrow();
+            assertEquals("Trip", en.getTitle());
+            assertEquals("Description", en.getDescription());
+
+            TravelTourWebsiteDto uz = tourRepo.findWebsiteById(id, Language.UZ.code()).orElseThrow();
+            assertEquals("Sayohat", uz.getTitle());
+            assertEquals(List.of(uz.getTitle()),
+                    tourRepo.findWebsiteByIds(List.of(id), Language.TURK.code()).stream()
+                            .map(TravelTourWebsiteDto::getTitle).toList());
+        });
+    }
+
+    @Test
+    void hiddenToursAreNotServed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer id = save(false);
+
+            assertTrue(tourRepo.findWebsiteById(id, Language.RU.code()).isEmpty());
+        });
+    }
+
+    private Integer save(boolean active) {
+        TravelTour tour = tourRepo.save(TravelTour.builder()
+                .title_uz("Sayohat")
+                .title_ru("")
+                .title_en("Trip")
+                .description_uz("Tavsif")
+                .description_en("Description")
+                .startDate(LocalDate.of(2099, 6, 1))
+                .endDate(LocalDate.of(2099, 6, 5))
+                .cities_uz(List.of())
+                .images(List.of())
+                .active(active)
+                .build());
+        entityManager.flush();
+        return tour.getId();
+    }
+}
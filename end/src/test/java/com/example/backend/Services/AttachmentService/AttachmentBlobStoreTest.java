@@ -0,0 +1,91 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Objects written by a store whose transaction rolls back are removed, unless
+ * a committed upload of the same content uses them. Runs against the
+ * configured database and storage.
+ */
+@SpringBootTest
+class AttachmentBlobStoreTest {
+
+    @Autowired
+    private AttachmentBlobStore blobStore;
+    @Autowired
+    private AttachmentStorage storage;
+    @Autowired
+    private FileDeletionWorker deletionWorker;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rolledBackStoreRemovesItsObject() throws IOException {
+        String hash = randomHash();
+        store(hash, false);
+
+        deletionWorker.process();
+        assertFalse(storage.exists(AttachmentBlobStore.keyOf(hash)));
+        assertEquals(0, queuedDeletions(hash));
+    }
+
+    @Test
+    void rolledBackStoreKeepsACommittedObject() throws IOException {
+        String hash = randomHash();
+        store(hash, true);
+        store(hash, false);
+
+        deletionWorker.process();
+        assertTrue(storage.exists(AttachmentBlobStore.keyOf(hash)));
+        assertEquals(0, queuedDeletions(hash));
+
+        transactionTemplate.executeWithoutResult(status -> blobStore.release(hash));
+        deletionWorker.process();
+        assertFalse(storage.exists(AttachmentBlobStore.keyOf(hash)));
+    }
+
+    private void store(String hash, boolean commit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                Path file = Files.createTempFile("blob-store", ".txt");
+                Files.writeString(file, hash);
+                try {
+                    blobStore.store(file, hash, hash.length(), "text/plain");
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!commit) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private int queuedDeletions(String hash) {
+        return jdbcTemplate.queryForObject("select count(*) from file_deletion where storage_key = ?",
+                Integer.class, AttachmentBlobStore.keyOf(hash));
+    }
+
+    private static String randomHash() {
+        return "test" + UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.AttachmentVariantRepo;
+import com.example.backend.Services.StorageService.AttachmentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the headers {@link AttachmentServiceImpl#getFile} emits when the
+ * body is offloaded to the web server. The metadata cache answers for the
+ * attachment, so no database is involved; the offload itself is a real
+ * {@link DownloadOffload} behind the mock.
+ */
+@ExtendWith(MockitoExtension.class)
+class DownloadOffloadTest {
+
+    private static final String HASH = "5bdc872008854875cdfc8cd5a639a961b6eac5b4a195c2483287f4f8e35a03e4";
+    private static final String ETAG = "\"" + HASH + "\"";
+    private static final byte[] CONTENT = "not really a jpeg".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private AttachmentRepo attachmentRepo;
+    @Mock
+    private AttachmentBlobStore blobStore;
+    @Mock
+    private AttachmentStorage storage;
+    @Mock
+    private AttachmentBatchUploader batchUploader;
+    @Mock
+    private FileRangeStreamer fileRangeStreamer;
+    @Mock
+    private AttachmentMetadataCache metadataCache;
+    @Mock
+    private AttachmentVariantRepo variantRepo;
+    @Mock
+    private ImageVariantGenerator variantGenerator;
+    @Mock
+    private FileDeletionWorker deletionWorker;
+    @Mock
+    private DownloadOffload downloadOffload;
+    @Mock
+    private Mp4FastStart mp4FastStart;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private AttachmentServiceImpl service;
+
+    private final UUID id = UUID.randomUUID();
+    private Path blob;
+    private Path variant;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blob = root.resolve("blobs/5b/dc/" + HASH);
+        variant = root.resolve("variants/ab/cd/" + id + "_320 x.jpg");
+        Files.createDirectories(blob.getParent());
+        Files.createDirectories(variant.getParent());
+        Files.write(blob, CONTENT);
+        Files.write(variant, CONTENT);
+
+        when(metadataCache.get(id)).thenReturn(new AttachmentMetadataCache.Entry("blobs/" + HASH, blob,
+                id + "_photo.jpg", "image/jpeg", CONTENT.length, ETAG, 1_700_000_000_000L,
+                List.of(new AttachmentMetadataCache.Variant(320, "variants/" + id + "_320 x.jpg", variant,
+                        id + "_320 x.jpg", "image/jpeg", CONTENT.length)),
+                System.currentTimeMillis()));
+    }
+
+    @Test
+    void xAccelRedirectPointsAtInternalLocationWithoutBody() throws IOException {
+        offloadWith(new DownloadOffload("x-accel-redirect", root, "/protected-files"));
+        MockHttpServletResponse response = get(null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("/protected-files/blobs/5b/dc/" + HASH, response.getHeader("X-Accel-Redirect"));
+        assertNull(response.getHeader("X-Sendfile"));
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals("max-age=31536000, public, immutable", response.getHeader("Cache-Control"));
+        assertEquals("inline; filename=\"" + id + "_photo.jpg\"", response.getHeader("Content-Disposition"));
+        assertEquals(0, response.getContentAsByteArray().length);
+        verify(fileRangeStreamer, never()).stream(any(), any(), any(Path.class), any(), any());
+    }
+
+    @Test
+    void xAccelRedirectEncodesVariantPath() throws IOException {
+        offloadWith(new DownloadOffload("x-accel-redirect", root, "/protected-files/"));
+        MockHttpServletResponse response = get(null, 300);
+
+        assertEquals("/protected-files/variants/ab/cd/" + id + "_320%20x.jpg", response.getHeader("X-Accel-Redirect"));
+        assertEquals("\"" + HASH + "-w320\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void xSendfileUsesAbsolutePath() throws IOException {
+        offloadWith(new DownloadOffload("x-sendfile", root, "/protected-files/"));
+        MockHttpServletResponse response = get(null, null);
+
+        assertEquals(blob.toAbsolutePath().normalize().toString(), response.getHeader("X-Sendfile"));
+        assertNull(response.getHeader("X-Accel-Redirect"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void notModifiedIsAnsweredWithoutOffload() throws IOException {
+        MockHttpServletResponse response = get(ETAG, null);
+
+        assertEquals(304, response.getStatus());
+        verify(downloadOffload, never()).offload(any(), any(), any());
+        verify(fileRangeStreamer, never()).stream(any(), any(), any(Path.class), any(), any());
+    }
+
+    @Test
+    void filesOutsideRootAreStreamed(@TempDir Path elsewhere) throws IOException {
+        offloadWith(new DownloadOffload("x-accel-redirect", elsewhere, "/protected-files/"));
+        MockHttpServletResponse response = get(null, null);
+
+        assertNull(response.getHeader("X-Accel-Redirect"));
+        verify(fileRangeStreamer).stream(any(), eq(response), eq(blob), eq("image/jpeg"), eq(ETAG));
+    }
+
+    @Test
+    void noneStreamsBody() throws IOException {
+        offloadWith(new DownloadOffload("none", root, "/protected-files/"));
+        MockHttpServletResponse response = get(null, null);
+
+        assertNull(response.getHeader("X-Accel-Redirect"));
+        assertNull(response.getHeader("X-Sendfile"));
+        verify(fileRangeStreamer).stream(any(), eq(response), eq(blob), eq("image/jpeg"), eq(ETAG));
+    }
+
+    private void offloadWith(DownloadOffload offload) {
+        when(downloadOffload.offload(any(), any(), any())).thenAnswer(call ->
+                offload.offload(call.getArgument(0), call.getArgument(1), call.getArgument(2)));
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, Integer width) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/file/getFile/" + id);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.getFile(request, response, id, width);
+        return response;
+    }
+}
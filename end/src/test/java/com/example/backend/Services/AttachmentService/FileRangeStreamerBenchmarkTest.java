@@ -0,0 +1,106 @@
+package com.example.backend.Services.AttachmentService;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Compares the old {@code FileCopyUtils} copy loop with the two paths used by
+ * {@link FileRangeStreamer}: the seek-and-copy fallback and the
+ * {@code transferTo} (sendfile) path the connector takes.
+ * <p>
+ * Run with {@code mvn test -Dtest=FileRangeStreamerBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FileRangeStreamerBenchmarkTest {
+
+    private static final int SIZE = 64 * 1024 * 1024;
+    private static final int ROUNDS = 10;
+
+    private static Path source;
+
+    @BeforeAll
+    static void createSource() throws IOException {
+        source = Files.createTempFile("stream-bench", ".bin");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int i = 0; i < SIZE / chunk.length; i++) {
+                out.write(chunk);
+            }
+        }
+    }
+
+    @AfterAll
+    static void deleteSource() throws IOException {
+        Files.deleteIfExists(source);
+    }
+
+    @Test
+    void copyLoopVersusTransferTo() throws IOException {
+        Path sink = Path.of("/dev/null");
+
+        measure("FileCopyUtils -> OutputStream", () -> {
+            try (FileInputStream in = new FileInputStream(source.toFile())) {
+                FileCopyUtils.copy(in, OutputStream.nullOutputStream());
+            }
+        });
+
+        measure("seek + copy -> OutputStream", () -> {
+            try (RandomAccessFile raf = new RandomAccessFile(source.toFile(), "r")) {
+                FileRangeStreamer.copy(raf, 0, raf.length(), OutputStream.nullOutputStream(), new byte[8 * 1024]);
+            }
+        });
+
+        if (Files.isWritable(sink)) {
+            measure("transferTo -> FileChannel (sendfile)", () -> {
+                try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+                     FileChannel target = FileChannel.open(sink, StandardOpenOption.WRITE)) {
+                    long position = 0;
+                    while (position < channel.size()) {
+                        position += channel.transferTo(position, channel.size() - position, target);
+                    }
+                }
+            });
+        }
+    }
+
+    private void measure(String name, IoRunnable task) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // warm-up
+        task.run();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        double megabytes = (double) SIZE * ROUNDS / (1024 * 1024);
+        System.out.printf("%-40s %8.1f MB/s %10d bytes allocated per copy%n",
+                name, megabytes / (elapsed / 1e9), allocated / ROUNDS);
+    }
+
+    @FunctionalInterface
+    private interface IoRunnable {
+        void run() throws IOException;
+    }
+}
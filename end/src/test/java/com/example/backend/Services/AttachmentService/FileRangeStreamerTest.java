@@ -0,0 +1,67 @@
+package com.example.backend.Services.AttachmentService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileRangeStreamerTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path dir;
+
+    private final FileRangeStreamer streamer = new FileRangeStreamer();
+
+    @Test
+    void servesASatisfiableRange() throws IOException {
+        MockHttpServletResponse response = stream("bytes=2-4");
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-4/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("234", response.getContentAsString());
+    }
+
+    @Test
+    void ignoresAnInvalidRange() throws IOException {
+        for (String range : new String[]{"bytes=abc", "items=0-1", "bytes=5-2", "bytes="}) {
+            MockHttpServletResponse response = stream(range);
+            assertEquals(200, response.getStatus(), range);
+            assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertEquals(CONTENT, response.getContentAsString(), range);
+        }
+    }
+
+    @Test
+    void rejectsAWellFormedRangeOutsideTheFile() throws IOException {
+        MockHttpServletResponse response = stream("bytes=10-20");
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void dropsOnlyTheUnsatisfiablePartsOfAMultiRange() throws IOException {
+        MockHttpServletResponse response = stream("bytes=50-60,0-1");
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 0-1/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("01", response.getContentAsString());
+    }
+
+    private MockHttpServletResponse stream(String range) throws IOException {
+        Path file = Files.writeString(dir.resolve("file.bin"), CONTENT, StandardCharsets.US_ASCII);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/file/getFile/1");
+        request.addHeader(HttpHeaders.RANGE, range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        streamer.stream(request, response, file, "application/octet-stream", "\"etag\"");
+        return response;
+    }
+}
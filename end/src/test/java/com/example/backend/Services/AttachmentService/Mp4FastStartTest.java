@@ -0,0 +1,179 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.exceptions.FastStartBusyException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds minimal MP4 files (ftyp, free, mdat, moov with one stco and one
+ * co64 track) and checks that the rewritten file starts with moov and its
+ * chunk offsets still point at the same sample bytes.
+ */
+class Mp4FastStartTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void movesMoovInFrontOfMediaAndShiftsChunkOffsets() throws IOException {
+        byte[] samples = "AAAABBBBCCCCDDDD".getBytes(StandardCharsets.US_ASCII);
+        byte[] ftyp = atom("ftyp", "isom\0\0\2\0isomiso2mp41".getBytes(StandardCharsets.US_ASCII));
+        byte[] free = atom("free", new byte[5]);
+        int mdatStart = ftyp.length + free.length;
+        int dataStart = mdatStart + 8;
+        byte[] mdat = atom("mdat", samples);
+        // chunks at A, B, C, D
+        long[] offsets = {dataStart, dataStart + 4, dataStart + 8, dataStart + 12};
+        byte[] moov = moov(offsets);
+
+        Path source = write(concat(ftyp, free, mdat, moov));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = Mp4FastStart.rewrite(source, out);
+        byte[] result = out.toByteArray();
+
+        assertEquals(Files.size(source), written);
+        assertEquals(written, result.length);
+        assertEquals(List.of("ftyp", "moov", "free", "mdat"), topLevelTypes(result));
+
+        List<Long> rewritten = chunkOffsets(result);
+        assertEquals(8, rewritten.size());
+        String[] expected = {"AAAA", "BBBB", "CCCC", "DDDD"};
+        for (int i = 0; i < rewritten.size(); i++) {
+            int offset = rewritten.get(i).intValue();
+            assertEquals(expected[i % 4], new String(result, offset, 4, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void leavesFastStartFilesAlone() throws IOException {
+        byte[] ftyp = atom("ftyp", "isom\0\0\2\0".getBytes(StandardCharsets.US_ASCII));
+        byte[] moov = moov(new long[]{100});
+        Path source = write(concat(ftyp, moov, atom("mdat", new byte[16])));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(-1, Mp4FastStart.rewrite(source, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        byte[] file = concat(atom("ftyp", new byte[8]), atom("mdat", new byte[32]), moov(new long[]{24}));
+        Path source = write(Arrays.copyOf(file, file.length - 10));
+
+        assertEquals(-1, Mp4FastStart.rewrite(source, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void relocatesTheUploadInPlaceBeforeItIsStored() throws IOException {
+        byte[] ftyp = atom("ftyp", "isom\0\0\2\0".getBytes(StandardCharsets.US_ASCII));
+        Path upload = write(concat(ftyp, atom("mdat", new byte[16]), moov(new long[]{ftyp.length + 8})));
+        Mp4FastStart fastStart = new Mp4FastStart(1, Duration.ZERO);
+
+        Mp4FastStart.Result result = fastStart.relocate(upload, "video/mp4");
+        byte[] stored = Files.readAllBytes(upload);
+        assertEquals(List.of("ftyp", "moov", "mdat"), topLevelTypes(stored));
+        assertEquals(stored.length, result.size());
+        assertEquals(HexFormat.of().formatHex(AttachmentServiceImpl.sha256().digest(stored)), result.hash());
+        assertEquals(List.of(upload), listTempDir());
+
+        assertNull(fastStart.relocate(upload, "video/mp4"), "already fast start");
+        assertNull(fastStart.relocate(upload, "image/jpeg"));
+    }
+
+    @Test
+    void rejectsTheUploadWhenNoSlotFreesUp() throws IOException {
+        byte[] file = concat(atom("ftyp", new byte[8]), atom("mdat", new byte[16]), moov(new long[]{24}));
+        Path upload = write(file);
+        Mp4FastStart fastStart = new Mp4FastStart(0, Duration.ofMillis(10));
+
+        assertThrows(FastStartBusyException.class, () -> fastStart.relocate(upload, "video/mp4"));
+        assertArrayEquals(file, Files.readAllBytes(upload));
+        assertNull(fastStart.relocate(upload, "image/jpeg"), "only videos wait");
+    }
+
+    /* moov with a video track using stco and an audio track using co64, both pointing at the same chunks */
+    private static byte[] moov(long[] offsets) {
+        ByteBuffer stco = ByteBuffer.allocate(8 + offsets.length * 4);
+        stco.putInt(0).putInt(offsets.length);
+        for (long offset : offsets) {
+            stco.putInt((int) offset);
+        }
+        ByteBuffer co64 = ByteBuffer.allocate(8 + offsets.length * 8);
+        co64.putInt(0).putInt(offsets.length);
+        for (long offset : offsets) {
+            co64.putLong(offset);
+        }
+        byte[] video = atom("trak", atom("mdia", atom("minf", atom("stbl", atom("stco", stco.array())))));
+        byte[] audio = atom("trak", atom("mdia", atom("minf", atom("stbl", atom("co64", co64.array())))));
+        return atom("moov", concat(atom("mvhd", new byte[100]), video, audio));
+    }
+
+    private static byte[] atom(String type, byte[] body) {
+        return ByteBuffer.allocate(8 + body.length)
+                .putInt(8 + body.length)
+                .put(type.getBytes(StandardCharsets.US_ASCII))
+                .put(body)
+                .array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(tempDir.resolve("video.mp4"), content);
+    }
+
+    private List<Path> listTempDir() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+
+    private static List<String> topLevelTypes(byte[] file) {
+        List<String> types = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(file);
+        int position = 0;
+        while (position < file.length) {
+            types.add(new String(file, position + 4, 4, StandardCharsets.US_ASCII));
+            position += buffer.getInt(position);
+        }
+        return types;
+    }
+
+    /* every stco and co64 entry, found by scanning for the type tags */
+    private static List<Long> chunkOffsets(byte[] file) {
+        List<Long> offsets = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(file);
+        String text = new String(file, StandardCharsets.ISO_8859_1);
+        for (String type : List.of("stco", "co64")) {
+            int at = text.indexOf(type) + 4;
+            int count = buffer.getInt(at + 4);
+            for (int i = 0; i < count; i++) {
+                offsets.add(type.equals("stco")
+                        ? Integer.toUnsignedLong(buffer.getInt(at + 8 + i * 4))
+                        : buffer.getLong(at + 8 + i * 8));
+            }
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.Services.AttachmentService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Entity.ChunkedUpload;
+import com.example.backend.Repository.AttachmentBlobRepo;
+import com.example.backend.Repository.AttachmentRepo;
+import com.example.backend.Repository.AttachmentVariantRepo;
+import com.example.backend.Repository.ChunkedUploadRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrphanAttachmentCollectorTest {
+
+    private final AttachmentRepo attachmentRepo = mock(AttachmentRepo.class);
+    private final ChunkedUploadRepo chunkedUploadRepo = mock(ChunkedUploadRepo.class);
+    private final AttachmentService attachmentService = mock(AttachmentService.class);
+
+    @Test
+    void dryRunReportsEveryBatchOfAbandonedUploads() {
+        List<ChunkedUpload> first = uploads(100);
+        when(chunkedUploadRepo.findTop100ByCreatedAtBeforeAndIdGreaterThanOrderByIdAsc(any(), eq(new UUID(0, 0))))
+                .thenReturn(first);
+        when(chunkedUploadRepo.findTop100ByCreatedAtBeforeAndIdGreaterThanOrderByIdAsc(any(), eq(first.get(99).getId())))
+                .thenReturn(uploads(30));
+
+        OrphanAttachmentCollector.Report report = collector().run(true);
+
+        assertEquals(130, report.abandonedUploads());
+        verify(chunkedUploadRepo, never()).delete(any());
+    }
+
+    @Test
+    void aFailedDeleteSkipsOnlyThatAttachment() {
+        List<Attachment> orphans = List.of(attachment(), attachment(), attachment());
+        when(attachmentRepo.findOrphans(any(), any(), any(), any())).thenReturn(orphans);
+        when(attachmentService.deleteAttachment(any())).thenReturn(10L);
+        when(attachmentService.deleteAttachment(orphans.get(1)))
+                .thenThrow(new DataIntegrityViolationException("still referenced"));
+
+        OrphanAttachmentCollector.Report report = collector().run(false);
+
+        assertEquals(2, report.attachments());
+        assertEquals(20, report.bytesReclaimed());
+        verify(attachmentService).deleteAttachment(orphans.get(2));
+    }
+
+    private OrphanAttachmentCollector collector() {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        return new OrphanAttachmentCollector(attachmentRepo, mock(AttachmentBlobRepo.class),
+                mock(AttachmentVariantRepo.class), chunkedUploadRepo, attachmentService, transactionTemplate,
+                true, false, Duration.ofDays(1), 100, Duration.ZERO, 1000, List.of("chat"));
+    }
+
+    private static Attachment attachment() {
+        return Attachment.builder().id(UUID.randomUUID()).prefix("test").name("orphan.jpg").build();
+    }
+
+    /* ascending ids, as the keyset query returns them */
+    private static List<ChunkedUpload> uploads(int count) {
+        long base = System.nanoTime();
+        return IntStream.range(0, count)
+                .mapToObj(i -> ChunkedUpload.builder().id(new UUID(base, i + 1)).build())
+                .toList();
+    }
+}
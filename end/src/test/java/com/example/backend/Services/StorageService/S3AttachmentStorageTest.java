@@ -0,0 +1,157 @@
+package com.example.backend.Services.StorageService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link S3AttachmentStorage} against a minimal in-process stand-in for
+ * an S3-compatible server (path-style PUT, GET with Range, HEAD, DELETE).
+ */
+class S3AttachmentStorageTest {
+
+    private static final String BUCKET = "attachments";
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private S3AttachmentStorage storage;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+        String endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+        storage = new S3AttachmentStorage(S3AttachmentStorage.build(endpoint, "us-east-1", "minio", "minio123"), BUCKET);
+    }
+
+    @AfterEach
+    void stopServer() {
+        storage.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void putMovesFileIntoBucketUnderPathStyleKey() throws IOException {
+        byte[] content = "hello attachment storage".getBytes(StandardCharsets.UTF_8);
+        Path source = Files.write(tempDir.resolve("upload.tmp"), content);
+
+        storage.put("blobs/abc", source, "text/plain");
+
+        assertArrayEquals(content, objects.get("/" + BUCKET + "/blobs/abc"));
+        assertFalse(Files.exists(source));
+        assertTrue(storage.exists("blobs/abc"));
+        assertTrue(storage.localPath("blobs/abc").isEmpty());
+    }
+
+    @Test
+    void openReadsWholeObjectAndRanges() throws IOException {
+        objects.put("/" + BUCKET + "/variants/a.jpg", "0123456789".getBytes(StandardCharsets.US_ASCII));
+
+        try (InputStream in = storage.open("variants/a.jpg")) {
+            assertEquals("0123456789", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        try (InputStream in = storage.open("variants/a.jpg", 3, 4)) {
+            assertEquals("3456", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void missingObjectsAreReportedAsAbsent() {
+        assertDoesNotThrow(() -> assertFalse(storage.exists("blobs/missing")));
+        assertThrows(FileNotFoundException.class, () -> storage.open("blobs/missing"));
+    }
+
+    @Test
+    void deleteRemovesObject() throws IOException {
+        objects.put("/" + BUCKET + "/blobs/abc", new byte[]{1, 2, 3});
+
+        storage.delete("blobs/abc");
+
+        assertFalse(objects.containsKey("/" + BUCKET + "/blobs/abc"));
+        assertFalse(storage.exists("blobs/abc"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        byte[] object = objects.get(path);
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                objects.put(path, body);
+                exchange.getResponseHeaders().add("ETag", "\"" + md5(body) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "HEAD" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+                    exchange.getResponseHeaders().add("ETag", "\"" + md5(object) + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            }
+            case "GET" -> {
+                if (object == null) {
+                    byte[] error = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>NoSuchKey</Code>"
+                            + "<Message>The specified key does not exist.</Message></Error>").getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/xml");
+                    exchange.sendResponseHeaders(404, error.length);
+                    exchange.getResponseBody().write(error);
+                } else {
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    Matcher matcher = range != null ? RANGE.matcher(range) : null;
+                    if (matcher != null && matcher.matches()) {
+                        int start = Integer.parseInt(matcher.group(1));
+                        int end = Math.min(Integer.parseInt(matcher.group(2)), object.length - 1);
+                        exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + object.length);
+                        exchange.sendResponseHeaders(206, end - start + 1);
+                        exchange.getResponseBody().write(object, start, end - start + 1);
+                    } else {
+                        exchange.getResponseHeaders().add("ETag", "\"" + md5(object) + "\"");
+                        exchange.sendResponseHeaders(200, object.length);
+                        exchange.getResponseBody().write(object);
+                    }
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(path);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.Services.TravelTourService;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A {@code @SpringBootTest} that counts statements with {@link StatementCounter}.
+ * Hibernate statistics are global, so the file deletion worker's polling is
+ * moved out of the way of the counts.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = "attachment.deletion.interval-ms=3600000")
+@Import({StatementCounter.class, TestAttachments.class})
+@interface QueryCountTest {
+}
@@ -0,0 +1,37 @@
+package com.example.backend.Services.TravelTourService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/* Statements prepared by a piece of work, starting from an empty persistence context */
+class StatementCounter {
+
+    @FunctionalInterface
+    interface Work {
+        void run() throws Exception;
+    }
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    StatementCounter(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    long count(Work work) {
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            work.run();
+            return statistics.getPrepareStatementCount();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.Entity.Attachment;
+import com.example.backend.Repository.AttachmentRepo;
+
+import java.util.UUID;
+
+/* Attachment rows without a file, for tours, days and gallery items under test */
+class TestAttachments {
+
+    private final AttachmentRepo attachmentRepo;
+
+    TestAttachments(AttachmentRepo attachmentRepo) {
+        this.attachmentRepo = attachmentRepo;
+    }
+
+    Attachment save() {
+        UUID id = UUID.randomUUID();
+        return attachmentRepo.save(Attachment.builder().id(id).prefix("test").name(id + "_test.jpg").build());
+    }
+}
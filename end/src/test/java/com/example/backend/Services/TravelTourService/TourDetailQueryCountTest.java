@@ -0,0 +1,136 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.DTO.TravelTourFullDto;
+import com.example.backend.Entity.Gallery;
+import com.example.backend.Entity.TourDay;
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.ContentAggregate;
+import com.example.backend.Repository.GalleryRepo;
+import com.example.backend.Repository.TourDayRepo;
+import com.example.backend.Repository.TravelTourRepo;
+import com.example.backend.Services.ContentVersionService.ContentVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The detail page costs a fixed number of statements however many days and
+ * gallery items the tour has, none once cached, and is reloaded after a
+ * content change. Runs against the configured database and rolls back.
+ */
+@QueryCountTest
+class TourDetailQueryCountTest {
+
+    @Autowired
+    private TravelTourService tourService;
+    @Autowired
+    private TravelTourRepo tourRepo;
+    @Autowired
+    private TourDayRepo tourDayRepo;
+    @Autowired
+    private GalleryRepo galleryRepo;
+    @Autowired
+    private TestAttachments attachments;
+    @Autowired
+    private StatementCounter statements;
+    @Autowired
+    private ContentVersions contentVersions;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void detailCostsConstantQueries() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer small = createTour(1);
+            Integer large = createTour(5);
+
+            // tour with its file and images, days, gallery
+            assertEquals(3, countStatements(small, 1));
+            assertEquals(3, countStatements(large, 5));
+        });
+    }
+
+    @Test
+    void detailIsCachedUntilContentChanges() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer id = createTour(2);
+
+            assertEquals(3, countStatements(id, 2));
+            assertEquals(0, countStatements(id, 2));
+
+            // as a gallery service would after its commit
+            TransactionTemplate outside = new TransactionTemplate(transactionManager);
+            outside.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+            outside.executeWithoutResult(s -> contentVersions.bump(ContentAggregate.GALLERY));
+
+            assertEquals(3, countStatements(id, 2));
+        });
+    }
+
+    @Test
+    void cachedDetailDoesNotFollowTheEntity() {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Integer id = createTour(1);
+            TravelTourFullDto detail = tourService.getFull(id);
+
+            // same persistence context: the entity the detail was built from
+            tourRepo.findById(id).orElseThrow().setTitle_uz("Changed");
+
+            assertEquals("Tour", tourService.getFull(id).tour().title_uz());
+            assertThrows(UnsupportedOperationException.class, () -> detail.tour().images().clear());
+            assertThrows(UnsupportedOperationException.class, () -> detail.days().clear());
+        });
+    }
+
+    /* statements for getFull plus writing it as JSON, which must not load anything lazily */
+    private long countStatements(Integer tourId, int items) {
+        return statements.count(() -> {
+            TravelTourFullDto detail = tourService.getFull(tourId);
+            assertEquals(tourId, detail.tour().id());
+            assertEquals(items, detail.days().size());
+            assertEquals(items, detail.gallery().size());
+            objectMapper.writeValueAsString(detail);
+        });
+    }
+
+    private Integer createTour(int items) {
+        TravelTour tour = tourRepo.save(TravelTour.builder()
+                .title_uz("Tour")
+                .startDate(LocalDate.now().plusDays(10))
+                .endDate(LocalDate.now().plusDays(17))
+                .cities_uz(new ArrayList<>(List.of("Toshkent")))
+                .images(new ArrayList<>(List.of(attachments.save(), attachments.save())))
+                .file(attachments.save())
+                .active(true)
+                .build());
+        for (int i = 1; i <= items; i++) {
+            tourDayRepo.save(TourDay.builder().position(i).title_uz("Day " + i)
+                    .travelTour(tour).createdAt(LocalDateTime.now()).build());
+            galleryRepo.save(Gallery.builder().media(attachments.save()).description_uz("Photo " + i)
+                    .travelTour(tour).build());
+        }
+        entityManager.flush();
+        return tour.getId();
+    }
+}
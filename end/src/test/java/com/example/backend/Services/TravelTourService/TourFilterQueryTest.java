@@ -0,0 +1,142 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.DTO.TourFilterDto;
+import com.example.backend.DTO.TourFilterResultDto;
+import com.example.backend.DTO.TourFilterResultDto.CityFacet;
+import com.example.backend.DTO.TourFilterResultDto.PriceFacet;
+import com.example.backend.DTO.TravelTourWebsiteDto;
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.Language;
+import com.example.backend.Repository.TravelTourRepo;
+import com.example.backend.exceptions.InvalidFilterException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the filter against the configured database. The tours live in 2099 and
+ * every filter is limited to that year, so existing data does not interfere;
+ * everything is rolled back.
+ */
+@SpringBootTest
+class TourFilterQueryTest {
+
+    @Autowired
+    private TravelTourService tourService;
+    @Autowired
+    private TravelTourRepo tourRepo;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void filtersByEveryField() {
+        inTestData(ids -> {
+            assertEquals(List.of(ids.get(2), ids.get(1), ids.get(0)), tourIds(filter(), Language.UZ));
+            assertEquals(List.of(ids.get(0)), tourIds(filter().currency("USD").minPrice(400.0).maxPrice(1000.0), Language.UZ));
+            assertEquals(List.of(ids.get(1), ids.get(0)), tourIds(filter().currency("usd"), Language.UZ));
+            assertEquals(List.of(ids.get(1)), tourIds(filter().minDays(6), Language.UZ));
+            assertEquals(List.of(ids.get(2), ids.get(0)), tourIds(filter().maxDays(5), Language.UZ));
+            assertEquals(List.of(ids.get(0), ids.get(2)),
+                    tourIds(filter().to(LocalDate.of(2099, 11, 30)).sort("price_asc"), Language.UZ));
+            assertEquals(List.of(ids.get(2), ids.get(0)), tourIds(filter().city("Samarqand"), Language.UZ));
+        });
+    }
+
+    @Test
+    void facetsIgnoreTheirOwnFilter() {
+        inTestData(ids -> {
+            TourFilterResultDto result = tourService.filter(filter().city("Samarqand").currency("UZS").minPrice(1_000_000.0).build(), 0, 10, Language.UZ);
+
+            assertEquals(1, result.getTours().getTotalElements());
+            // cities: price filter applies, city filter does not
+            assertEquals(List.of(new CityFacet("Samarqand", 1)), result.getCities());
+            // prices: city filter applies, price and currency filters do not
+            assertEquals(List.of(
+                    new PriceFacet("USD", 300.0, 600.0, 1),
+                    new PriceFacet("UZS", 3_000_000.0, 6_000_000.0, 1)
+            ), result.getPrices());
+        });
+    }
+
+    @Test
+    void priceBoundsNeedACurrency() {
+        assertThrows(InvalidFilterException.class, () -> tourService.filter(filter().minPrice(500.0).build(), 0, 10, Language.UZ));
+        assertThrows(InvalidFilterException.class, () -> tourService.filter(filter().maxPrice(1000.0).build(), 0, 10, Language.UZ));
+    }
+
+    @Test
+    void citiesFallBackToUzbek() {
+        inTestData(ids -> {
+            TourFilterResultDto result = tourService.filter(filter().build(), 0, 10, Language.RU);
+            assertEquals(List.of(new CityFacet("Samarqand", 1), new CityFacet("Xiva", 1),
+                    new CityFacet("Бухара", 1), new CityFacet("Самарканд", 1)), result.getCities());
+            assertEquals(List.of(ids.get(0)), tourIds(filter().city("Самарканд"), Language.RU));
+        });
+    }
+
+    @Test
+    void pagesShareTheTotal() {
+        inTestData(ids -> {
+            TourFilterResultDto second = tourService.filter(filter().build(), 1, 2, Language.UZ);
+            assertEquals(3, second.getTours().getTotalElements());
+            assertEquals(List.of(ids.get(0)),
+                    second.getTours().getContent().stream().map(TravelTourWebsiteDto::getId).toList());
+        });
+    }
+
+    private TourFilterDto.TourFilterDtoBuilder filter() {
+        return TourFilterDto.builder()
+                .from(LocalDate.of(2099, 1, 1))
+                .to(LocalDate.of(2099, 12, 31));
+    }
+
+    private List<Integer> tourIds(TourFilterDto.TourFilterDtoBuilder filter, Language language) {
+        return tourService.filter(filter.build(), 0, 10, language).getTours().getContent().stream()
+                .map(TravelTourWebsiteDto::getId)
+                .toList();
+    }
+
+    /* three active tours and an inactive one, created in this order */
+    private void inTestData(Consumer<List<Integer>> test) {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            List<Integer> ids = new ArrayList<>();
+            ids.add(save("USD", 450.0, LocalDate.of(2099, 11, 1), 5,
+                    List.of("Samarqand", "Buxoro"), List.of("Самарканд", "Бухара"), true));
+            ids.add(save("USD", 1500.0, LocalDate.of(2099, 12, 1), 10, List.of("Xiva"), List.of(), true));
+            ids.add(save("UZS", 5_000_000.0, LocalDate.of(2099, 11, 10), 3, List.of("Samarqand"), List.of(), true));
+            save("USD", 800.0, LocalDate.of(2099, 11, 3), 2, List.of("Samarqand"), List.of(), false);
+            entityManager.flush();
+            test.accept(ids);
+        });
+    }
+
+    private Integer save(String currency, Double price, LocalDate start, int days,
+                         List<String> citiesUz, List<String> citiesRu, boolean active) {
+        return tourRepo.save(TravelTour.builder()
+                .title_uz("Filter test")
+                .currency(currency)
+                .price(price)
+                .startDate(start)
+                .endDate(start.plusDays(days - 1))
+                .cities_uz(citiesUz)
+                .cities_ru(citiesRu)
+                .cities_en(List.of())
+                .cities_turk(List.of())
+                .images(List.of())
+                .active(active)
+                .build()).getId();
+    }
+}
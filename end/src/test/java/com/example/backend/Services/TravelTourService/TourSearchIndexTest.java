@@ -0,0 +1,183 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.DTO.TravelTourWebsiteDto;
+import com.example.backend.Entity.TourDay;
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.Language;
+import com.example.backend.Repository.TourDayRepo;
+import com.example.backend.Repository.TravelTourRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the index without Spring: outside a transaction updates apply
+ * immediately, and the rebuild reads from mocked repositories.
+ */
+class TourSearchIndexTest {
+
+    private TourSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TourSearchIndex(null, null, null);
+        index.index(tour(1, "Samarqand va Buxoro", "Самарканд и Бухара", "Ancient cities",
+                "<p>O‘zbekistonning qadimiy shaharlari bo‘ylab sayohat</p>",
+                List.of("Samarqand", "Buxoro"), List.of("Самарканд", "Бухара"), true, 1));
+        index.index(tour(2, "Istanbul turi", "Тур в Стамбул", "Istanbul weekend",
+                "Bosfor bo‘ylab sayr, Samarqand emas",
+                List.of("Istanbul"), List.of("Стамбул"), true, 2));
+        index.index(tour(3, "Xiva", "Хива", null, "Ichan qal’a",
+                List.of("Xiva"), List.of(), true, 3));
+        index.index(tour(4, "Yopiq Samarqand", null, null, null,
+                List.of("Samarqand"), List.of(), false, 4));
+    }
+
+    @Test
+    void titleAndCityMatchesRankAboveDescription() {
+        assertEquals(List.of(1, 2), ids(index.search("samarqand", Language.UZ, 0, 10)));
+    }
+
+    @Test
+    void inactiveToursAreNotFound() {
+        assertFalse(ids(index.search("yopiq", Language.UZ, 0, 10)).contains(4));
+    }
+
+    @Test
+    void matchesPrefixes() {
+        assertEquals(List.of(2), ids(index.search("стам", Language.RU, 0, 10)));
+    }
+
+    @Test
+    void toleratesOneTypo() {
+        assertEquals(List.of(1), ids(index.search("Buxora", Language.UZ, 0, 10)));
+        assertEquals(List.of(1), ids(index.search("самаркнад", Language.RU, 0, 10)));
+    }
+
+    @Test
+    void foldsApostrophesAndCase() {
+        assertEquals(List.of(1), ids(index.search("ozbekistonning", Language.UZ, 0, 10)));
+        assertEquals(List.of(3), ids(index.search("QALA", Language.UZ, 0, 10)));
+        assertEquals(List.of(2), ids(index.search("İSTANBUL", Language.TURK, 0, 10)));
+    }
+
+    @Test
+    void everyTermHasToMatch() {
+        assertEquals(List.of(2), ids(index.search("istanbul weekend", Language.EN, 0, 10)));
+        assertTrue(ids(index.search("istanbul xiva", Language.EN, 0, 10)).isEmpty());
+    }
+
+    @Test
+    void ignoresStopWordsOfOtherLanguages() {
+        assertEquals(List.of(3), ids(index.search("на хива", Language.UZ, 0, 10)));
+    }
+
+    @Test
+    void rendersRequestedLanguageWithUzbekFallback() {
+        TravelTourWebsiteDto ru = index.search("хива", Language.RU, 0, 10).getContent().get(0);
+        assertEquals("Хива", ru.getTitle());
+        assertEquals(List.of("Xiva"), ru.getCities());
+
+        TravelTourWebsiteDto en = index.search("xiva", Language.EN, 0, 10).getContent().get(0);
+        assertEquals("Xiva", en.getTitle());
+    }
+
+    @Test
+    void dayTitlesAreSearchableAndUpdatesReplaceTerms() {
+        TourDay day = TourDay.builder().title_uz("Registon maydoni").title_en("Registan square").build();
+        index.indexDays(1, List.of(day));
+        assertEquals(List.of(1), ids(index.search("registan", Language.EN, 0, 10)));
+
+        index.indexDays(1, List.of());
+        assertTrue(ids(index.search("registan", Language.EN, 0, 10)).isEmpty());
+
+        index.remove(2);
+        assertTrue(ids(index.search("istanbul", Language.UZ, 0, 10)).isEmpty());
+    }
+
+    @Test
+    void paginates() {
+        var first = index.search("sa", Language.UZ, 0, 1);
+        var second = index.search("sa", Language.UZ, 1, 1);
+        assertEquals(2, first.getTotalElements());
+        assertEquals(1, first.getContent().size());
+        assertEquals(1, second.getContent().size());
+        assertNotEquals(first.getContent().get(0).getId(), second.getContent().get(0).getId());
+    }
+
+    @Test
+    void updateDuringRebuildIsAppliedOnTopOfIt() throws Exception {
+        TravelTourRepo tourRepo = mock(TravelTourRepo.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        TourSearchIndex rebuilt = new TourSearchIndex(tourRepo, mock(TourDayRepo.class), transactionTemplate);
+
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        when(tourRepo.findAll()).thenAnswer(invocation -> {
+            reading.countDown();
+            updated.await(5, TimeUnit.SECONDS);
+            return List.of(tour(5, "Eski nom", null, null, null, List.of(), List.of(), true, 5));
+        });
+
+        Thread rebuild = new Thread(rebuilt::rebuild);
+        rebuild.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        // committed after the rebuild read the table
+        Thread update = new Thread(() -> rebuilt.index(tour(5, "Yangi nom", null, null, null, List.of(), List.of(), true, 5)));
+        update.start();
+        while (update.isAlive() && update.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+        }
+        updated.countDown();
+        rebuild.join();
+        update.join();
+
+        assertEquals(List.of(5), ids(rebuilt.search("yangi", Language.UZ, 0, 10)));
+        assertTrue(ids(rebuilt.search("eski", Language.UZ, 0, 10)).isEmpty());
+    }
+
+    @Test
+    void editDistanceCountsTranspositionAsOneEdit() {
+        assertEquals(1, TourSearchIndex.editDistance("buxoro", "bxuoro", 2));
+        assertEquals(2, TourSearchIndex.editDistance("buxoro", "boxora", 2));
+        assertEquals(2, TourSearchIndex.editDistance("buxoro", "tashkent", 1));
+    }
+
+    private static List<Integer> ids(Page<TravelTourWebsiteDto> page) {
+        return page.getContent().stream().map(TravelTourWebsiteDto::getId).toList();
+    }
+
+    private static TravelTour tour(int id, String titleUz, String titleRu, String titleEn, String descriptionUz,
+                                   List<String> citiesUz, List<String> citiesRu, boolean active, int day) {
+        return TravelTour.builder()
+                .id(id)
+                .title_uz(titleUz)
+                .title_ru(titleRu)
+                .title_en(titleEn)
+                .description_uz(descriptionUz)
+                .cities_uz(citiesUz)
+                .cities_ru(citiesRu)
+                .images(List.of())
+                .active(active)
+                .createdAt(LocalDateTime.of(2026, 1, day, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.Services.TravelTourService;
+
+import com.example.backend.Entity.TravelTour;
+import com.example.backend.Enums.TourStatus;
+import com.example.backend.Repository.TravelTourRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A listing page must cost the same number of SQL statements whatever its
+ * size, including the lazy collections touched while writing the JSON (the
+ * controller relies on open-in-view, emulated here by one transaction).
+ * Runs against the configured database and rolls everything back.
+ */
+@QueryCountTest
+class TravelTourListingQueryCountTest {
+
+    private static final int TOURS = 14;
+
+    @Autowired
+    private TravelTourService tourService;
+    @Autowired
+    private TravelTourRepo tourRepo;
+    @Autowired
+    private TestAttachments attachments;
+    @Autowired
+    private StatementCounter statements;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void websitePageCostsConstantQueries() {
+        assertConstant(tourService::getForWebsite);
+    }
+
+    @Test
+    void upcomingPageCostsConstantQueries() {
+        assertConstant(tourService::getPage);
+    }
+
+    @Test
+    void pastPageCostsConstantQueries() {
+        assertConstant(tourService::getOldPage);
+    }
+
+    private void assertConstant(BiFunction<Integer, Integer, Page<TravelTour>> endpoint) {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            createTours();
+
+            long small = countStatements(2, endpoint);
+            long large = countStatements(6, endpoint);
+
+            assertEquals(small, large, "statements for a page of 2 vs a page of 6");
+            // page, count, images (cities are columns of the tour row)
+            assertTrue(large <= 3, "expected at most 3 statements per page, got " + large);
+        });
+    }
+
+    /* full pages only, so both sizes include the count query */
+    private long countStatements(int size, BiFunction<Integer, Integer, Page<TravelTour>> endpoint) {
+        return statements.count(() -> {
+            Page<TravelTour> result = endpoint.apply(0, size);
+            assertEquals(size, result.getNumberOfElements());
+            objectMapper.writeValueAsString(result.getContent());
+        });
+    }
+
+    /* tours both upcoming and past (seven of each), each with its own images, file and cities */
+    private void createTours() {
+        List<TravelTour> tours = new ArrayList<>();
+        for (int i = 0; i < TOURS; i++) {
+            LocalDate start = LocalDate.now().plusDays(i % 2 == 0 ? 10 : -30);
+            tours.add(TravelTour.builder()
+                    .title_uz("Tour " + i)
+                    .startDate(start)
+                    .endDate(start.plusDays(7))
+                    .status(TourStatus.of(start, start.plusDays(7), LocalDate.now()))
+                    .cities_uz(new ArrayList<>(List.of("Toshkent", "Samarqand")))
+                    .cities_ru(new ArrayList<>(List.of("Ташкент")))
+                    .cities_en(new ArrayList<>(List.of("Tashkent", "Bukhara")))
+                    .cities_turk(new ArrayList<>(List.of("Taşkent")))
+                    .images(new ArrayList<>(List.of(attachments.save(), attachments.save())))
+                    .file(attachments.save())
+                    .active(true)
+                    .build());
+        }
+        tourRepo.saveAll(tours);
+        entityManager.flush();
+    }
+}
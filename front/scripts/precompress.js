@@ -0,0 +1,38 @@
+// Writes .br and .gz siblings next to every compressible build file so the
+// backend can serve them as-is instead of compressing on each request.
+// Usage: node scripts/precompress.js [dir]   (defaults to dist)
+import { readdir, readFile, writeFile, stat } from "node:fs/promises";
+import { join, extname } from "node:path";
+import { brotliCompressSync, gzipSync, constants } from "node:zlib";
+
+const COMPRESSIBLE = new Set([".html", ".js", ".mjs", ".css", ".json", ".svg", ".txt", ".xml", ".map"]);
+const MIN_SIZE = 1024;
+
+async function* files(dir) {
+  for (const entry of await readdir(dir, { withFileTypes: true })) {
+    const path = join(dir, entry.name);
+    if (entry.isDirectory()) {
+      yield* files(path);
+    } else if (COMPRESSIBLE.has(extname(entry.name))) {
+      yield path;
+    }
+  }
+}
+
+const root = process.argv[2] || "dist";
+let count = 0;
+for await (const file of files(root)) {
+  if ((await stat(file)).size < MIN_SIZE) {
+    continue;
+  }
+  const content = await readFile(file);
+  await writeFile(file + ".br", brotliCompressSync(content, {
+    params: {
+      [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+      [constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  }));
+  await writeFile(file + ".gz", gzipSync(content, { level: constants.Z_BEST_COMPRESSION }));
+  count++;
+}
+console.log(`precompressed ${count} files in ${root}`);
@@ -27,6 +27,7 @@ import Footer from "../../components/Footer";
 
 function Details() {
   const [tourDays, setTourDays] = useState([]);
+  const [gallery, setGallery] = useState([]);
   const { id } = useParams();
   const [tour, setTour] = useState(null);
   const [loading, setLoading] = useState(true);
@@ -94,17 +95,13 @@ function Details() {
       try {
         setLoading(true);
 
-        const response = await ApiCall(`/api/v1/travel-tours/${id}`);
+        // tour, days and gallery in one request
+        const response = await ApiCall(`/api/v1/travel-tours/${id}/full`);
 
         if (response && !response.error) {
-          setTour(response.data);
-
-          // 🔥 TOUR DAYS FETCH
-          const daysRes = await ApiCall(`/api/v1/tour-days/by-tour/${id}`);
-
-          if (daysRes && !daysRes.error) {
-            setTourDays(daysRes.data || []);
-          }
+          setTour(response.data.tour);
+          setTourDays(response.data.days || []);
+          setGallery(response.data.gallery || []);
         }
       } catch (error) {
         console.error("Error fetching tour details:", error);
@@ -154,28 +151,6 @@ function Details() {
     share_tour: t("tours.share_tour"),
   };
 
-  // Fetch tour details
-  useEffect(() => {
-    const fetchTourDetails = async () => {
-      try {
-        setLoading(true);
-        const response = await ApiCall(`/api/v1/travel-tours/${id}`);
-        console.log(response.data);
-        if (response && !response.error) {
-          setTour(response.data);
-        } else {
-          console.error("Failed to fetch tour details");
-        }
-      } catch (error) {
-        console.error("Error fetching tour details:", error);
-      } finally {
-        setLoading(false);
-      }
-    };
-
-    fetchTourDetails();
-  }, [id]);
-
   // Format date
   const formatDate = (date) => {
     if (!date) return "";
@@ -237,16 +212,22 @@ function Details() {
     setIsModalOpen(false);
   };
 
+  // Tour images first, then the tour's gallery (newest first)
+  const photoIds = [
+    ...(tour?.images || []).map((image) => image.id),
+    ...gallery.map((item) => item.mediaId),
+  ];
+
   const nextImage = () => {
-    if (tour?.images) {
-      setCurrentImageIndex((prev) => (prev + 1) % tour.images.length);
+    if (photoIds.length > 0) {
+      setCurrentImageIndex((prev) => (prev + 1) % photoIds.length);
     }
   };
 
   const prevImage = () => {
-    if (tour?.images) {
+    if (photoIds.length > 0) {
       setCurrentImageIndex(
-        (prev) => (prev - 1 + tour.images.length) % tour.images.length,
+        (prev) => (prev - 1 + photoIds.length) % photoIds.length,
       );
     }
   };
@@ -587,7 +568,7 @@ function Details() {
             </div>
 
             {/* Gallery Card */}
-            {tour.images && tour.images.length > 0 && (
+            {photoIds.length > 0 && (
               <div className="bg-white rounded-3xl shadow-sm p-8 border border-gray-100">
                 <h2 className="text-2xl font-bold text-gray-800 mb-6 flex items-center gap-2">
                   <Camera className="w-6 h-6 text-emerald-500" />
@@ -595,14 +576,14 @@ function Details() {
                 </h2>
 
                 <div className="grid grid-cols-2 md:grid-cols-3 gap-4">
-                  {tour.images.map((image, index) => (
+                  {photoIds.map((photoId, index) => (
                     <div
-                      key={image.id}
+                      key={`${photoId}-${index}`}
                       onClick={() => openModal(index)}
                       className="relative aspect-square rounded-2xl overflow-hidden cursor-pointer group"
                     >
                       <img
-                        src={`${baseUrl}/api/v1/file/getFile/${image.id}`}
+                        src={`${baseUrl}/api/v1/file/getFile/${photoId}`}
                         alt={`${title} ${index + 1}`}
                         className="w-full h-full object-cover transition-transform duration-500 group-hover:scale-110"
                         onError={(e) => {
@@ -810,7 +791,7 @@ function Details() {
       )}
 
       {/* Image Modal */}
-      {isModalOpen && tour?.images && (
+      {isModalOpen && photoIds.length > 0 && (
         <div className="fixed inset-0 z-50 bg-black/95 flex items-center justify-center">
           {/* Close button */}
           <button
@@ -837,7 +818,7 @@ function Details() {
 
           {/* Image */}
           <img
-            src={`${baseUrl}/api/v1/file/getFile/${tour.images[currentImageIndex]?.id}`}
+            src={`${baseUrl}/api/v1/file/getFile/${photoIds[currentImageIndex]}`}
             alt={`${title} ${currentImageIndex + 1}`}
             className="max-w-full max-h-[90vh] object-contain px-4"
             onError={(e) => {
@@ -848,7 +829,7 @@ function Details() {
 
           {/* Counter */}
           <div className="absolute bottom-6 left-1/2 -translate-x-1/2 bg-white/20 backdrop-blur-sm px-4 py-2 rounded-full text-white text-sm">
-            {currentImageIndex + 1} / {tour.images.length}
+            {currentImageIndex + 1} / {photoIds.length}
           </div>
         </div>
       )}